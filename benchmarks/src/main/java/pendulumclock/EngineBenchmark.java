@@ -0,0 +1,64 @@
+package pendulumclock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Gear train angle evaluation, one frame at a time and in batches, on SIMD lanes or the scalar loop
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class EngineBenchmark {
+    // Clocks or timesteps per batch call: a wide dashboard, and a few minutes of offline export
+    @Param({"200", "50000"})
+    public int steps;
+
+    @Param({"true", "false"})
+    public boolean vectorized;
+
+    private final ClockEngine engine = new ClockEngine(GearTrain.getDefault());
+    private final double[] angles = new double[engine.getPartCount()];
+    private double[][] batch;
+    private double[] times;
+    private double t;
+
+    @Setup
+    public void setup() {
+        engine.setVectorized(vectorized);
+        if (vectorized && !engine.isVectorized()) {
+            throw new IllegalStateException("Vector API not available");
+        }
+        batch = new double[engine.getPartCount()][steps];
+        t = 3 * 3600 + 25 * 60 + 12.3;
+        // One time per dashboard clock, whole hours apart like most time zones
+        times = new double[steps];
+        for (int i = 0; i < steps; ++i) {
+            times[i] = (t + 3600 * (i % 24)) % 86400;
+        }
+    }
+
+    // What updateComponents() does every frame
+    @Benchmark
+    public double[] computeAngles() {
+        t += 0.02;
+        engine.computeAngles(t, angles, 0);
+        return angles;
+    }
+
+    // Offline export, evenly spaced timesteps
+    @Benchmark
+    public double[][] computeAnglesBatch() {
+        engine.computeAngles(t, 0.02, steps, batch);
+        return batch;
+    }
+
+    // Dashboard, one arbitrary time per clock
+    @Benchmark
+    public double[][] computeAnglesTimes() {
+        engine.computeAngles(times, steps, batch);
+        return batch;
+    }
+}
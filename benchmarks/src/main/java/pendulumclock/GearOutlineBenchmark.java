@@ -0,0 +1,102 @@
+package pendulumclock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.Ellipse2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+// Drawing the 1st aux gear's geometry (100 outer teeth) as prebuilt outlines against the old per-tooth
+// fillPolygon and rotate loop. This is what rendering a sprite or atlas frame costs
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class GearOutlineBenchmark {
+    private static final Color PRIMARY = Color.decode("#767b8d");
+    private static final Color SECONDARY = Color.decode("#a7adb2");
+
+    // Device pixels per scene unit, as for sprites on a 1x and a 2x display
+    @Param({"1", "2"})
+    public double scale;
+
+    private BufferedImage image;
+    private Graphics2D g2d;
+    private TimeGear gear;
+
+    @Setup
+    public void setup() {
+        int size = (int) Math.ceil(500 * scale);
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.translate(size / 2, size / 2);
+        g2d.scale(scale, scale);
+        gear = new TimeGear(407, 610, 100,
+                10, 230, 220, 8, 20, 25,
+                PRIMARY, SECONDARY, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage outline() {
+        gear.paintGear(g2d);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage loop() {
+        paintGearLoop(g2d, 100, 10, 230, 220, 8, 20, 25);
+        return image;
+    }
+
+    // TimeGear.paintGear as it was before the outlines
+    private static void paintGearLoop(Graphics2D g2d, int outerTeeth, int innerTeeth, int outerRadius,
+                                      int innerRadius, int arms, int armsStroke, int internalGearRadius) {
+        AffineTransform oldTransform = g2d.getTransform();
+
+        g2d.rotate(Math.PI / arms);
+        g2d.setColor(SECONDARY);
+        for (int a = 0; a < arms; ++a) {
+            g2d.fillRect(-armsStroke/2, 0, armsStroke, outerRadius);
+            g2d.rotate(2*Math.PI / arms);
+        }
+        g2d.rotate(-Math.PI / arms);
+
+        g2d.setColor(PRIMARY);
+        double outerStep = 2 * Math.PI / outerTeeth;
+        for (int t = 0; t < outerTeeth; ++t) {
+            int[] xPoints = {-4, 4, 4, -4};
+            int[] yPoints = {-outerRadius, -outerRadius, -outerRadius-8, -outerRadius-8};
+            g2d.fillPolygon(xPoints, yPoints, 4);
+            g2d.rotate(outerStep);
+        }
+        g2d.setTransform(oldTransform);
+
+        Ellipse2D.Double outerCircle = new Ellipse2D.Double(-outerRadius, -outerRadius, 2 * outerRadius, 2 * outerRadius);
+        Ellipse2D.Double innerCircle = new Ellipse2D.Double(-innerRadius, -innerRadius, 2 * innerRadius, 2 * innerRadius);
+        Area gearArea = new Area(outerCircle);
+        gearArea.subtract(new Area(innerCircle));
+        g2d.fill(gearArea);
+
+        double innerStep = 2 * Math.PI / innerTeeth;
+        for (int t = 0; t < innerTeeth; ++t) {
+            int[] xPoints = {-4, 4, 4, -4};
+            int[] yPoints = {-internalGearRadius, -internalGearRadius, -internalGearRadius-8, -internalGearRadius-8};
+            g2d.fillPolygon(xPoints, yPoints, 4);
+            g2d.rotate(innerStep);
+        }
+        g2d.setTransform(oldTransform);
+
+        g2d.fillOval(-internalGearRadius, -internalGearRadius, 2*internalGearRadius, 2*internalGearRadius);
+    }
+}
@@ -0,0 +1,138 @@
+package pendulumclock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Cost of drawing each part into an offscreen image, run with -prof gc for the allocation rate
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class PaintBenchmark {
+    // About one frame per rim pixel for the 1st aux gear
+    private static final int ATLAS_FRAMES = 1536;
+
+    // Edge of the offscreen image, the 1000x1000 clock layout is scaled to fit
+    @Param({"500", "1000", "2000"})
+    public int size;
+
+    private BufferedImage image;
+    private Graphics2D g2d;
+
+    private Pendulum pendulum;
+    private ScapeGear scapeGear;
+    private TimeGear timeGear;
+    private TimeGear atlasGear;
+    private DigitalReadout readout;
+    private int second;
+    private double angle;
+    private int atlasFrame;
+
+    @Setup
+    public void setup() {
+        image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB_PRE);
+        g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.scale(size / 1000.0, size / 1000.0);
+
+        // Same parts PendulumClock builds, the 1st aux gear has the most teeth
+        pendulum = new Pendulum(
+                250, 120, 20,
+                350, 10,
+                78, 15,
+                30, 0);
+        scapeGear = new ScapeGear(
+                250, 340, 30, 15,
+                150, 140, 6, 20, 50);
+        timeGear = new TimeGear(407, 610, 100,
+                10, 230, 220, 8, 20, 25,
+                Color.decode("#767b8d"), Color.decode("#a7adb2"), false);
+        atlasGear = new TimeGear(407, 610, 100,
+                10, 230, 220, 8, 20, 25,
+                Color.decode("#767b8d"), Color.decode("#a7adb2"), false);
+        atlasGear.useAtlas(ATLAS_FRAMES, ClockParts.ATLAS_BYTES);
+        readout = new DigitalReadout(500, 90);
+
+        // Cached images at the resolution they are drawn at, as the clock windows do
+        for (ClockPart part : new ClockPart[]{scapeGear, timeGear, atlasGear, readout}) {
+            part.setSpriteScale(size / 1000.0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2d.dispose();
+    }
+
+    // Enough to move every part past its repaint threshold
+    private double nextAngle() {
+        angle += 0.01;
+        return angle;
+    }
+
+    @Benchmark
+    public BufferedImage pendulum() {
+        pendulum.setAngle(nextAngle());
+        pendulum.paintPart(g2d);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage scapeGear() {
+        scapeGear.setAngle(nextAngle());
+        scapeGear.paintPart(g2d);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage timeGear() {
+        timeGear.setAngle(nextAngle());
+        timeGear.paintPart(g2d);
+        return image;
+    }
+
+    // A new time every call, as if every frame showed the next second
+    @Benchmark
+    public BufferedImage readout() {
+        second = (second + 1) % 86400;
+        readout.setTime(second);
+        readout.paintPart(g2d);
+        return image;
+    }
+
+    // A slow gear stepping between a few neighbouring frames, all of them resident in the atlas
+    @Benchmark
+    public BufferedImage timeGearAtlas() {
+        atlasFrame = (atlasFrame + 1) & 7;
+        atlasGear.setAngle(atlasFrame * 2 * Math.PI / ATLAS_FRAMES);
+        atlasGear.paintPart(g2d);
+        return image;
+    }
+
+    // Building the gear geometry from scratch, what every frame paid before the sprite cache
+    @Benchmark
+    public BufferedImage scapeGearGeometry() {
+        paintGeometry(scapeGear::paintGear, 250, 340);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage timeGearGeometry() {
+        paintGeometry(timeGear::paintGear, 407, 610);
+        return image;
+    }
+
+    private void paintGeometry(Consumer<Graphics2D> painter, int centerX, int centerY) {
+        Graphics2D g = (Graphics2D) g2d.create();
+        g.translate(centerX, centerY);
+        g.rotate(nextAngle());
+        painter.accept(g);
+        g.dispose();
+    }
+}
@@ -0,0 +1,31 @@
+package pendulumclock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Simulated pendulum and escapement of one clock, one 60 Hz frame of 10 kHz steps per call.
+// Run with -prof gc to check the integrator does not allocate
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhysicsBenchmark {
+    private PendulumPhysics physics;
+    private double t;
+
+    @Setup
+    public void setup() {
+        t = 10 * 3600 + 10 * 60;
+        physics = new PendulumPhysics(t);
+    }
+
+    @Benchmark
+    public double frame() {
+        t += 1.0 / 60;
+        physics.advanceTo(t);
+        return physics.getEscapementTime();
+    }
+}
@@ -0,0 +1,71 @@
+package pendulumclock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Frames per second FrameServer can render, encode and deliver to every one of a number of loopback
+// clients. Each call publishes one frame and waits until all clients have it, so nothing is dropped and
+// the score is the frame rate the whole audience could get
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StreamBenchmark {
+    private static final long TIMEOUT_NANOS = 10_000_000_000L;
+
+    @Param({"0", "10", "100", "1000"})
+    public int clients;
+
+    private FrameServer server;
+    private StreamClients streams;
+    private double t;
+    private long expected;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new FrameServer(GearTrain.getDefault(), 600, 600, 0.8f);
+        server.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        t = 10 * 3600 + 10 * 60;
+        if (clients > 0) {
+            streams = new StreamClients(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()),
+                    clients);
+            // Every stream has been accepted and sent its request before the first frame
+            while (server.getClients() < clients) {
+                LockSupport.parkNanos(1_000_000);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (streams != null) {
+            streams.close();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public long frame() throws IOException {
+        t += 1.0 / 30;
+        server.publish(t);
+        if (streams == null) {
+            return 0;
+        }
+        expected += clients;
+        long deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (streams.getFrames() < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(streams.getFrames() + " of " + expected + " frames delivered");
+            }
+            Thread.yield();
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,70 @@
+package pendulumclock;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Whole frames of the clock at signage resolutions, drawn by TiledRenderer on a number of threads against one
+// Graphics2D drawing the same image alone (threads = 0). Speed-up over that is bounded by the cores the machine has
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TiledRenderBenchmark {
+    @Param({"3840x2160", "7680x4320"})
+    public String size;
+
+    @Param({"0", "1", "2", "4", "8"})
+    public int threads;
+
+    private ClockParts parts;
+    private ForkJoinPool pool;
+    private TiledRenderer tiles;
+    private BufferedImage image;
+    private Graphics2D g2d;
+    private final Rectangle clip = new Rectangle(0, 0, 1000, 1000);
+    private double t;
+
+    @Setup
+    public void setup() {
+        int width = Integer.parseInt(size.substring(0, size.indexOf('x')));
+        int height = Integer.parseInt(size.substring(size.indexOf('x') + 1));
+        parts = new ClockParts(GearTrain.getDefault());
+        pool = new ForkJoinPool(Math.max(1, threads));
+        AffineTransform fit = SceneFit.fitTransform(width, height);
+        tiles = new TiledRenderer(width, height, fit, TiledRenderer.TILE_SIZE, pool);
+        parts.getScene().setSpriteScale(tiles.getScale());
+
+        // The single threaded baseline fills the same kind of image through one Graphics2D with the same fit
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        g2d = image.createGraphics();
+        g2d.setColor(Color.WHITE);
+        g2d.fillRect(0, 0, width, height);
+        g2d.transform(fit);
+        t = 10 * 3600 + 10 * 60;
+    }
+
+    @TearDown
+    public void tearDown() {
+        tiles.dispose();
+        g2d.dispose();
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage frame() {
+        t += 1.0 / 60;
+        parts.update(t);
+        if (threads == 0) {
+            parts.getScene().paint(g2d, clip, Color.WHITE);
+            return image;
+        }
+        return tiles.render(parts.getScene(), Color.WHITE);
+    }
+}
@@ -0,0 +1,56 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Runs through what PendulumClock loads on its way to the first frames, without a window, so the cds
+// profile can record the classes for a class data sharing archive, see app/pom.xml. Using the archive:
+// java -XX:SharedArchiveFile=app/target/pendulum-clock.jsa -jar app/target/pendulum-clock-1.0-SNAPSHOT.jar
+public class CdsTraining {
+    private static final int FRAMES = 30;
+
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        ClockOptions options = ClockOptions.parse(args);
+        RenderPipeline.select(options.getPipeline());
+        ClockParts parts = new ClockParts(options.getTrain());
+        RenderPipeline pipeline = RenderPipeline.probe(parts);
+
+        ClockScene scene = parts.getScene();
+        FrameStats stats = new FrameStats(scene.getPartNames(), 20_000_000L, null);
+        scene.addPart("overlay", new StatsOverlay(stats, 640, 10, 340, 190));
+        new ClockFace(scene, options.isFit());
+
+        BufferedImage frame = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        Rectangle clip = new Rectangle(0, 0, 1000, 1000);
+        TimeSource timeSource = options.getTimeSource();
+        for (int i = 0; i < FRAMES; ++i) {
+            parts.update(timeSource.clockSeconds(System.nanoTime()));
+            scene.paint(g2d, clip, Color.WHITE);
+        }
+        g2d.dispose();
+
+        // Both cache files, in a folder of their own
+        Path folder = Files.createTempDirectory("pendulumclock-cds");
+        StartupCache cache = new StartupCache(folder);
+        cache.writeFrame(frame);
+        new StartupView(cache.readFrame(), options.isFit(), new StartupMetrics());
+        cache.writePipeline(options.getPipeline(), pipeline);
+        cache.readPipeline(options.getPipeline());
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+            for (Path file : files) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(folder);
+
+        new TickPlayer("/tick.wav").close();
+        System.out.printf("%s, trained in %.0f ms%n", pipeline, (System.nanoTime() - start) / 1e6);
+        System.exit(0);
+    }
+}
@@ -0,0 +1,125 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferStrategy;
+import java.util.concurrent.ForkJoinPool;
+
+// Heavyweight surface presenting the scene by page flipping, driven by a RenderLoop
+public class ClockCanvas extends Canvas {
+    // Draw the frame on the render loop thread alone instead of in parallel tiles
+    public static final int NO_TILES = 0;
+
+    private final ClockScene scene;
+    private final Rectangle clip = new Rectangle();
+    private final Rectangle sceneClip = new Rectangle();
+    private final SceneFit sceneFit;
+    private BufferStrategy strategy;
+    // Null unless the frame is drawn in tiles, the renderer is replaced when the canvas changes size or screen
+    private final ForkJoinPool tilePool;
+    private TiledRenderer tiles;
+    private final AffineTransform tileTransform = new AffineTransform();
+
+    public ClockCanvas(ClockScene scene) {
+        this(scene, false);
+    }
+
+    // With fit the layout is scaled to the window, otherwise drawn at its own size
+    public ClockCanvas(ClockScene scene, boolean fit) {
+        this(scene, fit, NO_TILES);
+    }
+
+    // With tileThreads other than NO_TILES every frame is rasterized in tiles on that many threads, then blitted
+    public ClockCanvas(ClockScene scene, boolean fit, int tileThreads) {
+        this.scene = scene;
+        this.sceneFit = new SceneFit(this, scene, fit);
+        this.tilePool = tileThreads == NO_TILES ? null : new ForkJoinPool(tileThreads);
+        // The render loop redraws every frame, AWT paint requests are not needed
+        setIgnoreRepaint(true);
+        // Match the Swing surface, which inherits the content pane background
+        setBackground(UIManager.getColor("Panel.background"));
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return scene.getPreferredSize();
+    }
+
+    // Draw the whole scene into the back buffer and flip it to the screen
+    public void render() {
+        if (strategy == null) {
+            strategy = createStrategy();
+        }
+        if (tilePool != null) {
+            renderTiles();
+            return;
+        }
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                clip.setBounds(0, 0, getWidth(), getHeight());
+                sceneFit.clearMargins(g2d, clip, getBackground());
+                sceneFit.toScene(clip, sceneClip);
+                sceneFit.apply(g2d);
+                scene.paint(g2d, sceneClip, getBackground());
+                g2d.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        // Push the flip out to the display now instead of whenever the window system batches it
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    // Rasterize the frame in parallel tiles once, then only the blit is repeated if the back buffer is lost.
+    // The tiles cover the canvas in device pixels, so a scaled screen gets the same detail as the single pass
+    private void renderTiles() {
+        double deviceScale = sceneFit.getDeviceScale();
+        int width = Math.max(1, (int) Math.ceil(getWidth() * deviceScale));
+        int height = Math.max(1, (int) Math.ceil(getHeight() * deviceScale));
+        sceneFit.getDeviceTransform(tileTransform);
+        if (tiles == null || !tiles.fits(width, height, tileTransform)) {
+            if (tiles != null) {
+                tiles.dispose();
+            }
+            tiles = new TiledRenderer(width, height, tileTransform, TiledRenderer.TILE_SIZE, tilePool);
+        }
+        tiles.render(scene, getBackground());
+        do {
+            do {
+                Graphics2D g2d = (Graphics2D) strategy.getDrawGraphics();
+                // Back from the device scale the draw graphics come with, one image pixel to one device pixel
+                g2d.scale(1 / deviceScale, 1 / deviceScale);
+                tiles.present(g2d, 0, 0);
+                g2d.dispose();
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    private BufferStrategy createStrategy() {
+        if (!RenderPipeline.isAccelerated()) {
+            // Blit from a back buffer in plain memory
+            try {
+                createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(false),
+                        new ImageCapabilities(false), null));
+                return getBufferStrategy();
+            } catch (AWTException e) {
+                createBufferStrategy(2);
+                return getBufferStrategy();
+            }
+        }
+        try {
+            // Ask for real page flipping in accelerated memory first
+            createBufferStrategy(2, new BufferCapabilities(new ImageCapabilities(true),
+                    new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED));
+        } catch (AWTException e) {
+            // Let AWT pick the best it can do, usually blitting from a back buffer
+            createBufferStrategy(2);
+        }
+        return getBufferStrategy();
+    }
+}
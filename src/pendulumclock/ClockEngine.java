@@ -0,0 +1,114 @@
+package pendulumclock;
+
+// Gear train math, independent of Swing. Times are clock seconds, the train repeats every 12 hours
+public class ClockEngine {
+    // Maximum swing (15 degrees each way)
+    static final double MAX_ANGLE = -Math.PI / 12;
+    // 1-second full oscillation
+    private static final double ANGULAR_FREQUENCY = 2 * Math.PI;
+
+    private final int parts;
+    private final int scapeTeeth;
+    // Every part angle is swing * pendulum + ratio * scape + phase, see GearTrain
+    private final double[] swing;
+    private final double[] ratio;
+    private final double[] phase;
+
+    // Batch calls run on SIMD lanes when the JVM has the Vector API (--add-modules jdk.incubator.vector),
+    // -Dpendulumclock.scalar=true turns them off. VectorAngles must not even load without the module
+    private static final boolean VECTOR_AVAILABLE = !Boolean.getBoolean("pendulumclock.scalar")
+            && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    private boolean vectorized = VECTOR_AVAILABLE;
+
+    public ClockEngine(GearTrain train) {
+        this.parts = train.getPartCount();
+        this.scapeTeeth = train.getScapeTeeth();
+        this.swing = train.getSwing();
+        this.ratio = train.getRatio();
+        this.phase = train.getPhase();
+    }
+
+    // Use the scalar loop even when SIMD lanes are available, for comparison
+    public void setVectorized(boolean vectorized) {
+        this.vectorized = vectorized && VECTOR_AVAILABLE;
+    }
+
+    public boolean isVectorized() {
+        return vectorized;
+    }
+
+    // Length of the angle arrays, one slot per part of the train
+    public int getPartCount() {
+        return parts;
+    }
+
+    // True during the half of each second after the tick, while the scape gear rests
+    public static boolean isTicked(double t) {
+        return t - Math.floor(t) >= 0.5;
+    }
+
+    // Scape gear advances one tooth during the first half of each second, then rests
+    public static double escapementTime(double t) {
+        double whole = Math.floor(t);
+        if (t - whole >= 0.5) {
+            return whole + 1;
+        }
+        return whole + (t - whole) * 2;
+    }
+
+    public static double pendulumAngle(double t) {
+        return MAX_ANGLE * Math.sin(ANGULAR_FREQUENCY * t);
+    }
+
+    public double scapeAngle(double t) {
+        return scapeAngleAt(escapementTime(t));
+    }
+
+    // Scape gear angle after turning by the given number of teeth
+    private double scapeAngleAt(double escapement) {
+        return -2 * Math.PI * escapement / scapeTeeth;
+    }
+
+    // Store every part angle at time t in angles[offset .. offset + getPartCount())
+    public void computeAngles(double t, double[] angles, int offset) {
+        double pendulum = pendulumAngle(t);
+        double scape = scapeAngle(t);
+        for (int p = 0; p < parts; ++p) {
+            angles[offset + p] = swing[p] * pendulum + ratio[p] * scape + phase[p];
+        }
+    }
+
+    // Fill angles[part][i] for n steps of dt seconds starting at t0
+    public void computeAngles(double t0, double dt, int n, double[][] angles) {
+        int i = 0;
+        if (vectorized && n >= VectorAngles.lanes()) {
+            i = VectorAngles.compute(t0, dt, n, swing, ratio, phase, MAX_ANGLE, scapeTeeth, angles);
+        }
+        for (; i < n; ++i) {
+            computeAngles(t0 + i * dt, i, angles);
+        }
+    }
+
+    // Fill angles[part][i] for the times in times[0 .. n)
+    public void computeAngles(double[] times, int n, double[][] angles) {
+        int i = 0;
+        if (vectorized && n >= VectorAngles.lanes()) {
+            i = VectorAngles.compute(times, n, swing, ratio, phase, MAX_ANGLE, scapeTeeth, angles);
+        }
+        for (; i < n; ++i) {
+            computeAngles(times[i], i, angles);
+        }
+    }
+
+    private void computeAngles(double t, int i, double[][] angles) {
+        computeAngles(pendulumAngle(t), escapementTime(t), angles, i);
+    }
+
+    // Fill angles[part][i] from a pendulum angle and scape gear position given by the caller, see PendulumPhysics
+    public void computeAngles(double pendulum, double escapement, double[][] angles, int i) {
+        double scape = scapeAngleAt(escapement);
+        for (int p = 0; p < parts; ++p) {
+            angles[p][i] = swing[p] * pendulum + ratio[p] * scape + phase[p];
+        }
+    }
+}
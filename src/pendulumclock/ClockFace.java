@@ -0,0 +1,60 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+
+// Single render surface drawing every clock part in one pass
+public class ClockFace extends JComponent {
+    private final ClockScene scene;
+    private final Rectangle clip = new Rectangle();
+    private final Rectangle dirty = new Rectangle();
+    private final Rectangle sceneClip = new Rectangle();
+    private final SceneFit sceneFit;
+
+    public ClockFace() {
+        this(new ClockScene());
+    }
+
+    public ClockFace(ClockScene scene) {
+        this(scene, false);
+    }
+
+    // With fit the layout is scaled to the window, otherwise drawn at its own size
+    public ClockFace(ClockScene scene, boolean fit) {
+        this.scene = scene;
+        this.sceneFit = new SceneFit(this, scene, fit);
+        // We clear our own background, so Swing does not need to paint anything below us
+        setOpaque(true);
+    }
+
+    public void addPart(ClockPart part) {
+        scene.addPart(part);
+    }
+
+    // Repaint only the regions of the parts that visibly moved since the last call
+    public void repaintMovedParts() {
+        for (int i = 0; i < scene.getPartCount(); ++i) {
+            if (scene.getPart(i).takeDirtyRegion(dirty)) {
+                sceneFit.toComponent(dirty, dirty);
+                repaint(dirty);
+            }
+        }
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return scene.getPreferredSize();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        clip.setBounds(0, 0, getWidth(), getHeight());
+        g.getClipBounds(clip);
+        Graphics2D g2d = (Graphics2D) g;
+        sceneFit.clearMargins(g2d, clip, getBackground());
+        sceneFit.toScene(clip, sceneClip);
+        sceneFit.apply(g2d);
+        scene.paint(g2d, sceneClip, getBackground());
+        sceneFit.restore(g2d);
+    }
+}
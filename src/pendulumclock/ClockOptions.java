@@ -0,0 +1,263 @@
+package pendulumclock;
+
+import java.awt.Dimension;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+
+// How PendulumClock runs, from its command line. Dashboard, FrameExporter and FrameServer parse the options they
+// share with it here too, and only their own on top
+public class ClockOptions {
+    private static final int MAX_FRAME_RATE = 1000;
+
+    private GearTrain train = GearTrain.getDefault();
+    private boolean scheduledTicks;
+    private int renderFps = PendulumClock.SWING_TIMER;
+    // NaN unless --fps gave a rate, fractional ones are for the exporter and server
+    private double frameRate = Double.NaN;
+    private Path statsFile;
+    private int atlasFrames = ClockParts.NO_ATLAS;
+    private boolean physics;
+    // NaN for the wall clock time at start
+    private double startSeconds = Double.NaN;
+    private double rate = 1;
+    private Path snapshotFile;
+    private boolean fit;
+    private String pipeline = RenderPipeline.AUTO;
+    private int backgroundFps = PendulumClock.BACKGROUND_FPS;
+    private Path cacheFolder = StartupCache.defaultFolder();
+    private int tileThreads = ClockCanvas.NO_TILES;
+    private boolean spinWait;
+    // Null for the tool's own default
+    private Dimension size;
+    // -1 and NaN for the server's own defaults
+    private int port = -1;
+    private float quality = Float.NaN;
+
+    public static ClockOptions parse(String[] args) throws IOException {
+        ClockOptions options = new ClockOptions();
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--train=")) {
+                // Parts and gear train from a file instead of the built in clock
+                options.train = GearTrain.load(Path.of(value));
+            } else if (arg.equals("--scheduled-ticks")) {
+                // Mix the ticks into a continuous audio stream at the exact half second
+                options.scheduledTicks = true;
+            } else if (arg.startsWith("--fps=")) {
+                // 30|60|120|adaptive renders on a dedicated page-flipping loop instead of the Swing timer
+                if (value.equals("adaptive")) {
+                    options.renderFps = RenderLoop.ADAPTIVE;
+                } else {
+                    options.frameRate = parseFrameRate(value);
+                    // The render loop paces whole frames a second, never rounded down to ADAPTIVE
+                    options.renderFps = (int) Math.max(1, Math.round(options.frameRate));
+                }
+            } else if (arg.startsWith("--stats=")) {
+                // file.csv|file.json exports frame metrics every few seconds
+                options.statsFile = Path.of(value);
+            } else if (arg.equals("--atlas")) {
+                // Slow gears drawn from pre-rotated frames, one per rim pixel or the given count
+                options.atlasFrames = 0;
+            } else if (arg.startsWith("--atlas=")) {
+                options.atlasFrames = Integer.parseInt(value);
+            } else if (arg.equals("--physics")) {
+                // Simulated pendulum and escapement instead of the ideal motion
+                options.physics = true;
+            } else if (arg.startsWith("--start=")) {
+                // Start at a fixed clock time instead of now, reproducible runs with --rate=0
+                options.startSeconds = parseStart(value);
+            } else if (arg.startsWith("--rate=")) {
+                // Clock seconds per real second, 0 freezes the clock
+                options.rate = Double.parseDouble(value);
+            } else if (arg.startsWith("--snapshot=")) {
+                // Continue from the state saved in file if it exists, F5 saves it
+                options.snapshotFile = Path.of(value);
+            } else if (arg.equals("--fit")) {
+                // Scale the clock with the window instead of drawing it at its own size
+                options.fit = true;
+            } else if (arg.startsWith("--pipeline=")) {
+                // auto|opengl|xrender|software Java2D pipeline, probed and reported at startup
+                options.pipeline = value;
+            } else if (arg.startsWith("--background-fps=")) {
+                // Frame rate while the window is shown but not focused, 0 stops the clock until it is
+                options.backgroundFps = Integer.parseInt(value);
+            } else if (arg.startsWith("--cache=")) {
+                // Where the first frame and the pipeline probe are kept between runs
+                options.cacheFolder = Path.of(value);
+            } else if (arg.equals("--tiled")) {
+                // With --fps, rasterize each frame in parallel tiles on every core or the given number of threads
+                options.tileThreads = Runtime.getRuntime().availableProcessors();
+            } else if (arg.startsWith("--tiled=")) {
+                options.tileThreads = Integer.parseInt(value);
+            } else if (arg.startsWith("--size=")) {
+                // WIDTHxHEIGHT of rendered frames, for the exporter and server
+                options.size = parseSize(value);
+            } else if (arg.equals("--spin-wait")) {
+                // With --fps, spin through the last millisecond before each frame, for latency runs
+                options.spinWait = true;
+            } else if (arg.startsWith("--port=")) {
+                // Port the frame server listens on, 0 picks a free one
+                options.port = parsePort(value);
+            } else if (arg.startsWith("--quality=")) {
+                // JPEG quality of the frame server, from 0 to 1
+                options.quality = parseQuality(value);
+            }
+        }
+        return options;
+    }
+
+    // Positive WIDTHxHEIGHT such as 1920x1080
+    public static Dimension parseSize(String value) {
+        int x = value.indexOf('x');
+        try {
+            if (x > 0) {
+                int width = Integer.parseInt(value.substring(0, x));
+                int height = Integer.parseInt(value.substring(x + 1));
+                if (width > 0 && height > 0) {
+                    return new Dimension(width, height);
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the expected form
+        }
+        throw new IllegalArgumentException("--size takes WIDTHxHEIGHT such as 1920x1080, not " + value);
+    }
+
+    private static double parseFrameRate(String value) {
+        try {
+            double rate = Double.parseDouble(value);
+            if (rate > 0 && rate <= MAX_FRAME_RATE) {
+                return rate;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the expected form
+        }
+        throw new IllegalArgumentException("--fps takes a frame rate above 0 and up to " + MAX_FRAME_RATE
+                + ", or adaptive, not " + value);
+    }
+
+    private static double parseStart(String value) {
+        try {
+            return LocalTime.parse(value).toNanoOfDay() / 1_000_000_000.0;
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("--start takes a time of day such as 10:09:30, not " + value);
+        }
+    }
+
+    private static int parsePort(String value) {
+        try {
+            int port = Integer.parseInt(value);
+            if (port >= 0 && port <= 65535) {
+                return port;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the expected range
+        }
+        throw new IllegalArgumentException("--port takes a port from 0 to 65535, not " + value);
+    }
+
+    private static float parseQuality(String value) {
+        try {
+            float quality = Float.parseFloat(value);
+            if (quality >= 0 && quality <= 1) {
+                return quality;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below with the expected range
+        }
+        throw new IllegalArgumentException("--quality takes a JPEG quality from 0 to 1, not " + value);
+    }
+
+    public GearTrain getTrain() {
+        return train;
+    }
+
+    public boolean isScheduledTicks() {
+        return scheduledTicks;
+    }
+
+    // SWING_TIMER, a fixed rate or RenderLoop.ADAPTIVE
+    public int getRenderFps() {
+        return renderFps;
+    }
+
+    // Frames a second from --fps, or defaultRate without it or with adaptive
+    public double getFrameRate(double defaultRate) {
+        return Double.isNaN(frameRate) ? defaultRate : frameRate;
+    }
+
+    // --size, or defaultWidth x defaultHeight without it
+    public Dimension getSize(int defaultWidth, int defaultHeight) {
+        return size != null ? size : new Dimension(defaultWidth, defaultHeight);
+    }
+
+    // --port, or defaultPort without it
+    public int getPort(int defaultPort) {
+        return port >= 0 ? port : defaultPort;
+    }
+
+    // --quality, or defaultQuality without it
+    public float getQuality(float defaultQuality) {
+        return Float.isNaN(quality) ? defaultQuality : quality;
+    }
+
+    // NaN without --start
+    public double getStartSeconds() {
+        return startSeconds;
+    }
+
+    // Null for no export
+    public Path getStatsFile() {
+        return statsFile;
+    }
+
+    // ClockParts.NO_ATLAS, or frames per slow gear with 0 to fit the gear size
+    public int getAtlasFrames() {
+        return atlasFrames;
+    }
+
+    public boolean isPhysics() {
+        return physics;
+    }
+
+    // A new time source starting now, at --start or the wall clock time
+    public TimeSource getTimeSource() {
+        if (Double.isNaN(startSeconds)) {
+            return TimeSource.startingAt(LocalTime.now().toNanoOfDay() / 1_000_000_000.0, rate);
+        }
+        return TimeSource.startingAt(startSeconds, rate);
+    }
+
+    // Null for no snapshots
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    public boolean isFit() {
+        return fit;
+    }
+
+    // One of the RenderPipeline names
+    public String getPipeline() {
+        return pipeline;
+    }
+
+    public int getBackgroundFps() {
+        return backgroundFps;
+    }
+
+    public Path getCacheFolder() {
+        return cacheFolder;
+    }
+
+    public boolean isSpinWait() {
+        return spinWait;
+    }
+
+    // ClockCanvas.NO_TILES or the threads drawing the tiles
+    public int getTileThreads() {
+        return tileThreads;
+    }
+}
@@ -0,0 +1,19 @@
+package pendulumclock;
+
+import java.awt.*;
+
+// A piece of the clock drawn by a ClockFace
+public interface ClockPart {
+    // Area the part can cover in scene coordinates
+    Rectangle getPartBounds();
+
+    // Store the region changed since the last call in dirty, returning false when nothing visibly moved
+    boolean takeDirtyRegion(Rectangle dirty);
+
+    // Draw the part in scene coordinates, leaving the graphics transform as it was
+    void paintPart(Graphics2D g2d);
+
+    // Device pixels per scene unit the part's cached images should be rendered for, from the next paint on
+    default void setSpriteScale(double scale) {
+    }
+}
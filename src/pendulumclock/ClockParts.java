@@ -0,0 +1,156 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+// The parts of one clock as described by a gear train, and the engine that moves them
+public class ClockParts {
+    // Slow gears rotate their sprite every paint
+    public static final int NO_ATLAS = -1;
+    // Default atlas budget per gear, a few dozen frames of the larger gears
+    public static final long ATLAS_BYTES = 16L << 20;
+
+    // Angle setter of each train part, null for parts that do not turn
+    private final DoubleConsumer[] rotations;
+    private final DigitalReadout[] readouts;
+    // Gears the train marks as slow enough for an atlas
+    private final List<TimeGear> atlasGears = new ArrayList<>();
+
+    private final ClockEngine engine;
+    private final ClockScene scene;
+    private final double[][] angles;
+    // Simulated pendulum and escapement, null for the ideal motion
+    private PendulumPhysics physics;
+
+    // The clock the application has always shown
+    public ClockParts() {
+        this(GearTrain.getDefault());
+    }
+
+    public ClockParts(GearTrain train) {
+        int count = train.getPartCount();
+        rotations = new DoubleConsumer[count];
+        List<DigitalReadout> readoutList = new ArrayList<>();
+
+        // Draw every part on one surface, back to front
+        scene = new ClockScene();
+        for (int p = 0; p < count; ++p) {
+            int x = train.getInt(p, "x");
+            int y = train.getInt(p, "y");
+            ClockPart part;
+            switch (train.getKind(p)) {
+                case GearTrain.PENDULUM: {
+                    Pendulum pendulum = new Pendulum(
+                            x, y, train.getInt(p, "radius"),
+                            train.getInt(p, "length"), train.getInt(p, "stroke"),
+                            train.getInt(p, "arm"), train.getInt(p, "shortArm"),
+                            train.getInt(p, "bob"), 0);
+                    rotations[p] = pendulum::setAngle;
+                    part = pendulum;
+                    break;
+                }
+                case GearTrain.SCAPE: {
+                    ScapeGear scapeGear = new ScapeGear(
+                            x, y, train.getInt(p, "teeth"), train.getInt(p, "inner"),
+                            train.getInt(p, "radius"), train.getInt(p, "innerRadius"),
+                            train.getInt(p, "arms"), train.getInt(p, "stroke"), train.getInt(p, "hub"));
+                    rotations[p] = scapeGear::setAngle;
+                    part = scapeGear;
+                    break;
+                }
+                case GearTrain.GEAR: {
+                    TimeGear gear = new TimeGear(
+                            x, y, train.getInt(p, "teeth"), train.getInt(p, "inner"),
+                            train.getInt(p, "radius"), train.getInt(p, "innerRadius"),
+                            train.getInt(p, "arms"), train.getInt(p, "stroke"), train.getInt(p, "hub"),
+                            Color.decode(train.getString(p, "primary")), Color.decode(train.getString(p, "secondary")),
+                            train.hasFlag(p, "arrow"));
+                    if (train.hasFlag(p, "atlas")) {
+                        atlasGears.add(gear);
+                    }
+                    rotations[p] = gear::setAngle;
+                    part = gear;
+                    break;
+                }
+                default: {
+                    DigitalReadout readout = new DigitalReadout(x, y);
+                    readoutList.add(readout);
+                    part = readout;
+                    break;
+                }
+            }
+            scene.addPart(train.getName(p), part);
+        }
+        readouts = readoutList.toArray(new DigitalReadout[0]);
+
+        engine = new ClockEngine(train);
+        angles = new double[count][1];
+    }
+
+    // Draw the slow gears from pre-rotated frames, see TimeGear.useAtlas
+    public void useAtlas(int frames, long maxBytesPerGear) {
+        for (TimeGear gear : atlasGears) {
+            gear.useAtlas(frames, maxBytesPerGear);
+        }
+    }
+
+    // Swing the pendulum and turn the scape gear by simulation from clock time t on, see PendulumPhysics
+    public void usePhysics(double t) {
+        physics = new PendulumPhysics(t);
+    }
+
+    // Continue from a copy of the given simulation state
+    public void usePhysics(PendulumPhysics state) {
+        physics = new PendulumPhysics(state);
+    }
+
+    // Jump straight to clock time t, the simulated pendulum restarts from the ideal state there
+    public void seek(double t) {
+        if (physics != null) {
+            physics.reset(t);
+        }
+        update(t);
+    }
+
+    public PendulumPhysics getPhysics() {
+        return physics;
+    }
+
+    public ClockScene getScene() {
+        return scene;
+    }
+
+    public ClockEngine getEngine() {
+        return engine;
+    }
+
+    // Move every part to clock time t, in seconds since midnight
+    public void update(double t) {
+        if (physics != null) {
+            physics.advanceTo(t);
+            engine.computeAngles(physics.getPendulumAngle(), physics.getEscapementTime(), angles, 0);
+        } else {
+            engine.computeAngles(t, 0, 1, angles);
+        }
+        update(t, angles, 0);
+    }
+
+    // True while the scape gear rests after the tick, as of the last update
+    public boolean isTicked(double t) {
+        return physics != null ? physics.isLocked() : ClockEngine.isTicked(t);
+    }
+
+    // Move the parts to angles[part][index], computed for time t by a batch call on a shared engine
+    public void update(double t, double[][] angles, int index) {
+        for (int p = 0; p < rotations.length; ++p) {
+            if (rotations[p] != null) {
+                rotations[p].accept(angles[p][index]);
+            }
+        }
+        for (DigitalReadout readout : readouts) {
+            readout.setTime(t);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Ordered clock parts, shared by every surface that draws them
+public class ClockScene {
+    private final List<ClockPart> parts = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private FrameStats stats;
+
+    // Parts are painted in the order they are added, the last one on top
+    public void addPart(ClockPart part) {
+        addPart(part.getClass().getSimpleName(), part);
+    }
+
+    public void addPart(String name, ClockPart part) {
+        parts.add(part);
+        names.add(name);
+    }
+
+    // Time every part's drawing into the given stats, null to stop
+    public void setStats(FrameStats stats) {
+        this.stats = stats;
+    }
+
+    // Re-render cached images for a new device scale, only worth calling once the scale has settled
+    public void setSpriteScale(double scale) {
+        for (ClockPart part : parts) {
+            part.setSpriteScale(scale);
+        }
+    }
+
+    public int getPartCount() {
+        return parts.size();
+    }
+
+    public ClockPart getPart(int index) {
+        return parts.get(index);
+    }
+
+    public String[] getPartNames() {
+        return names.toArray(new String[0]);
+    }
+
+    // Smallest size showing every part from the scene origin
+    public Dimension getPreferredSize() {
+        Rectangle scene = new Rectangle();
+        for (ClockPart part : parts) {
+            scene.add(part.getPartBounds());
+        }
+        return new Dimension(scene.x + scene.width, scene.y + scene.height);
+    }
+
+    // Clear the clip to the background and draw every part overlapping it
+    public void paint(Graphics2D g2d, Rectangle clip, Color background) {
+        paint(g2d, clip, background, stats);
+    }
+
+    // The same for one of several tiles drawn at once, untimed since FrameStats is only fed from one thread
+    public void paintTile(Graphics2D g2d, Rectangle clip, Color background) {
+        paint(g2d, clip, background, null);
+    }
+
+    private void paint(Graphics2D g2d, Rectangle clip, Color background, FrameStats partStats) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        g2d.setColor(background);
+        g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+
+        // Only parts overlapping the clip need to be drawn
+        for (int i = 0; i < parts.size(); ++i) {
+            ClockPart part = parts.get(i);
+            if (part.getPartBounds().intersects(clip)) {
+                if (partStats != null) {
+                    long start = System.nanoTime();
+                    part.paintPart(g2d);
+                    partStats.recordPart(i, System.nanoTime() - start);
+                } else {
+                    part.paintPart(g2d);
+                }
+            }
+        }
+    }
+}
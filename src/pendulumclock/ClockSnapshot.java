@@ -0,0 +1,88 @@
+package pendulumclock;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Full simulation state of one clock: its time, whether the tick already sounded and the simulated pendulum.
+// Written as a few dozen big endian bytes, the ideal motion needs nothing but the time
+public class ClockSnapshot {
+    private static final int MAGIC = 0x50434c4b; // "PCLK"
+    private static final int VERSION = 1;
+
+    private final double time;
+    private final boolean ticked;
+    // Null for the ideal motion
+    private final PendulumPhysics physics;
+
+    private ClockSnapshot(double time, boolean ticked, PendulumPhysics physics) {
+        this.time = time;
+        this.ticked = ticked;
+        this.physics = physics;
+    }
+
+    // State of the parts last updated to time t, ticked as the caller saw it
+    public static ClockSnapshot capture(ClockParts parts, double t, boolean ticked) {
+        PendulumPhysics physics = parts.getPhysics();
+        return new ClockSnapshot(t, ticked, physics == null ? null : new PendulumPhysics(physics));
+    }
+
+    // Put the parts back into this state, without replaying anything
+    public void restore(ClockParts parts) {
+        if (physics != null) {
+            parts.usePhysics(physics);
+        }
+        parts.update(time);
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public boolean isTicked() {
+        return ticked;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeDouble(time);
+        out.writeBoolean(ticked);
+        out.writeBoolean(physics != null);
+        if (physics != null) {
+            physics.writeTo(out);
+        }
+    }
+
+    public static ClockSnapshot readFrom(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a clock snapshot");
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported clock snapshot version " + version);
+        }
+        double time = in.readDouble();
+        boolean ticked = in.readBoolean();
+        PendulumPhysics physics = in.readBoolean() ? PendulumPhysics.readFrom(in) : null;
+        return new ClockSnapshot(time, ticked, physics);
+    }
+
+    public void write(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            writeTo(out);
+        }
+    }
+
+    public static ClockSnapshot read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return readFrom(in);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+// Wall of clocks, one per time zone, moved by one shared engine and timer
+public class Dashboard extends JFrame {
+    private final List<ClockParts> clocks = new ArrayList<>();
+    private final ZoneId[] zones;
+    private final DashboardFace face;
+
+    // Every clock has the same gear train, so one engine evaluates all of them in a single batch
+    private final ClockEngine engine;
+    private final double[] times;
+    private final double[] offsets;
+    private final double[][] angles;
+
+    private final long startTime;
+    private final double startSeconds;
+    private long offsetsSecond = -1;
+    private final boolean physics;
+
+    // Every clock runs train. atlasFrames as for PendulumClock, clocks showing the same time share the pre-rotated
+    // frames. With physics every clock simulates its own pendulum instead of sharing the batch evaluation
+    public Dashboard(List<ZoneId> zoneIds, GearTrain train, int atlasFrames, boolean physics) {
+        setTitle("Pendulum Clocks");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setSize(1600, 1000);
+
+        zones = zoneIds.toArray(new ZoneId[0]);
+        Font labelFont = new Font("Arial", Font.BOLD, 60);
+        for (ZoneId zone : zones) {
+            ClockParts clock = new ClockParts(train);
+            if (atlasFrames != ClockParts.NO_ATLAS) {
+                clock.useAtlas(atlasFrames, ClockParts.ATLAS_BYTES);
+            }
+            clock.getScene().addPart("zone", new TextLabel(zone.getId(), 500, 960, labelFont, Color.DARK_GRAY));
+            clocks.add(clock);
+        }
+
+        engine = clocks.get(0).getEngine();
+        times = new double[zones.length];
+        offsets = new double[zones.length];
+        angles = new double[engine.getPartCount()][zones.length];
+
+        // UTC seconds since midnight at start, kept small so the doubles stay precise
+        Instant now = Instant.now();
+        startTime = System.nanoTime();
+        startSeconds = Math.floorMod(now.getEpochSecond(), 86400) + now.getNano() / 1_000_000_000.0;
+
+        this.physics = physics;
+        if (physics) {
+            for (int i = 0; i < clocks.size(); ++i) {
+                clocks.get(i).usePhysics(startSeconds + zones[i].getRules().getOffset(now).getTotalSeconds());
+            }
+        }
+
+        face = new DashboardFace(clocks);
+        add(face);
+
+        Timer timer = new Timer(16, e -> updateClocks());
+        timer.start();
+
+        setVisible(true);
+    }
+
+    private void updateClocks() {
+        double utc = startSeconds + (System.nanoTime() - startTime) / 1_000_000_000.0;
+
+        // Zone offsets only change on DST switches, checking once a second is plenty
+        long second = (long) utc;
+        if (second != offsetsSecond) {
+            offsetsSecond = second;
+            Instant now = Instant.now();
+            for (int i = 0; i < zones.length; ++i) {
+                offsets[i] = zones[i].getRules().getOffset(now).getTotalSeconds();
+            }
+        }
+
+        for (int i = 0; i < zones.length; ++i) {
+            // Whole days do not move the gears, wrapping keeps the readout within the day
+            double t = (utc + offsets[i]) % 86400;
+            times[i] = t < 0 ? t + 86400 : t;
+        }
+        if (physics) {
+            for (int i = 0; i < zones.length; ++i) {
+                clocks.get(i).update(times[i]);
+            }
+        } else {
+            engine.computeAngles(times, zones.length, angles);
+            for (int i = 0; i < zones.length; ++i) {
+                clocks.get(i).update(times[i], angles, i);
+            }
+        }
+
+        face.repaintMovedParts();
+    }
+
+    // --zones=Europe/London,Asia/Tokyo,... or --clocks=N for the first N zones alphabetically, --atlas[=frames] --physics
+    // --pipeline=auto|opengl|xrender|software --train=file
+    public static void main(String[] args) {
+        ClockOptions options;
+        try {
+            options = ClockOptions.parse(args);
+            RenderPipeline.select(options.getPipeline());
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        List<ZoneId> zones = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--zones=")) {
+                for (String id : arg.substring("--zones=".length()).split(",")) {
+                    zones.add(ZoneId.of(id.trim()));
+                }
+            } else if (arg.startsWith("--clocks=")) {
+                int count = Integer.parseInt(arg.substring("--clocks=".length()));
+                for (String id : new TreeSet<>(ZoneId.getAvailableZoneIds())) {
+                    if (zones.size() == count) {
+                        break;
+                    }
+                    zones.add(ZoneId.of(id));
+                }
+            }
+        }
+        if (zones.isEmpty()) {
+            zones.add(ZoneId.systemDefault());
+        }
+        GearTrain train = options.getTrain();
+        System.out.println(RenderPipeline.probe(new ClockParts(train)));
+        SwingUtilities.invokeLater(() -> new Dashboard(zones, train, options.getAtlasFrames(), options.isPhysics()));
+    }
+}
@@ -0,0 +1,184 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+// Grid of clocks kept in a persistent back buffer. Each frame only the regions of parts that moved
+// are redrawn into it, then the changed area is copied to the screen.
+public class DashboardFace extends JComponent {
+    private final List<ClockParts> clocks;
+    private final Color background = UIManager.getColor("Panel.background");
+
+    private int columns;
+    private int cellSize;
+    private double scale;
+    private BufferedImage buffer;
+    private Graphics2D bufferGraphics;
+    // Scale the clocks' cached images are rendered for, caught up once resizing pauses
+    private double spriteScale = 1;
+    private final Timer settle;
+
+    private final Rectangle dirty = new Rectangle();
+    private final Rectangle region = new Rectangle();
+    private final Rectangle changed = new Rectangle();
+    private final Rectangle localClip = new Rectangle();
+    private final AffineTransform identity = new AffineTransform();
+
+    public DashboardFace(List<ClockParts> clocks) {
+        this.clocks = clocks;
+        setOpaque(true);
+        settle = new Timer(250, e -> settleSpriteScale());
+        settle.setRepeats(false);
+    }
+
+    private void settleSpriteScale() {
+        if (scale == spriteScale) {
+            return;
+        }
+        spriteScale = scale;
+        for (ClockParts clock : clocks) {
+            clock.getScene().setSpriteScale(spriteScale);
+        }
+        // Redraw everything with the new images
+        buffer = null;
+        repaint();
+    }
+
+    // Redraw the parts that moved since the last call into the buffer and repaint that area
+    public void repaintMovedParts() {
+        if (!ensureBuffer()) {
+            return;
+        }
+        changed.setBounds(0, 0, 0, 0);
+        boolean anyChanged = false;
+
+        for (int c = 0; c < clocks.size(); ++c) {
+            ClockScene scene = clocks.get(c).getScene();
+            int cellX = c % columns * cellSize;
+            int cellY = c / columns * cellSize;
+            for (int i = 0; i < scene.getPartCount(); ++i) {
+                if (!scene.getPart(i).takeDirtyRegion(dirty)) {
+                    continue;
+                }
+                // Scene coordinates to buffer pixels, rounded outwards
+                int x0 = cellX + (int) Math.floor(dirty.x * scale);
+                int y0 = cellY + (int) Math.floor(dirty.y * scale);
+                int x1 = cellX + (int) Math.ceil((dirty.x + dirty.width) * scale);
+                int y1 = cellY + (int) Math.ceil((dirty.y + dirty.height) * scale);
+                region.setBounds(x0, y0, x1 - x0, y1 - y0);
+                // Keep the region inside its own cell so neighbours are untouched
+                clipToCell(region, cellX, cellY);
+                if (region.isEmpty()) {
+                    continue;
+                }
+                paintRegion(region);
+                if (anyChanged) {
+                    changed.add(region);
+                } else {
+                    changed.setBounds(region);
+                    anyChanged = true;
+                }
+            }
+        }
+        if (anyChanged) {
+            repaint(changed);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (!ensureBuffer()) {
+            return;
+        }
+        // Whatever is outside the grid, then the buffer as it stands
+        g.setColor(background);
+        g.fillRect(0, 0, getWidth(), getHeight());
+        g.drawImage(buffer, 0, 0, null);
+    }
+
+    // (Re)create the buffer for the current size, drawing every clock in full
+    private boolean ensureBuffer() {
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0 || clocks.isEmpty()) {
+            return false;
+        }
+        if (buffer != null && buffer.getWidth() == width && buffer.getHeight() == height) {
+            return true;
+        }
+
+        columns = (int) Math.ceil(Math.sqrt(clocks.size() * (double) width / height));
+        int rows = (clocks.size() + columns - 1) / columns;
+        cellSize = Math.max(1, Math.min(width / columns, height / rows));
+        scale = cellSize / 1000.0;
+        if (scale != spriteScale) {
+            settle.restart();
+        }
+
+        if (bufferGraphics != null) {
+            bufferGraphics.dispose();
+        }
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        buffer = gc != null ? gc.createCompatibleImage(width, height)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        bufferGraphics = buffer.createGraphics();
+
+        bufferGraphics.setColor(background);
+        bufferGraphics.fillRect(0, 0, width, height);
+        Rectangle discarded = new Rectangle();
+        for (int c = 0; c < clocks.size(); ++c) {
+            ClockScene scene = clocks.get(c).getScene();
+            // Everything is drawn now, so nothing is pending
+            for (int i = 0; i < scene.getPartCount(); ++i) {
+                scene.getPart(i).takeDirtyRegion(discarded);
+            }
+            region.setBounds(c % columns * cellSize, c / columns * cellSize, cellSize, cellSize);
+            paintRegion(region);
+        }
+        return true;
+    }
+
+    private void clipToCell(Rectangle r, int cellX, int cellY) {
+        int x0 = Math.max(r.x, cellX);
+        int y0 = Math.max(r.y, cellY);
+        int x1 = Math.min(r.x + r.width, cellX + cellSize);
+        int y1 = Math.min(r.y + r.height, cellY + cellSize);
+        r.setBounds(x0, y0, Math.max(0, x1 - x0), Math.max(0, y1 - y0));
+    }
+
+    // Redraw every clock overlapping the region, in buffer pixels
+    private void paintRegion(Rectangle r) {
+        int firstColumn = r.x / cellSize;
+        int lastColumn = Math.min(columns - 1, (r.x + r.width - 1) / cellSize);
+        int firstRow = r.y / cellSize;
+        int lastRow = (r.y + r.height - 1) / cellSize;
+
+        bufferGraphics.setClip(r.x, r.y, r.width, r.height);
+        for (int row = firstRow; row <= lastRow; ++row) {
+            for (int column = firstColumn; column <= lastColumn; ++column) {
+                int c = row * columns + column;
+                if (c >= clocks.size()) {
+                    continue;
+                }
+                int cellX = column * cellSize;
+                int cellY = row * cellSize;
+
+                // The region in the clock's own 1000x1000 coordinates
+                int x0 = (int) Math.floor((r.x - cellX) / scale);
+                int y0 = (int) Math.floor((r.y - cellY) / scale);
+                int x1 = (int) Math.ceil((r.x + r.width - cellX) / scale);
+                int y1 = (int) Math.ceil((r.y + r.height - cellY) / scale);
+                localClip.setBounds(x0, y0, x1 - x0, y1 - y0);
+
+                bufferGraphics.translate(cellX, cellY);
+                bufferGraphics.scale(scale, scale);
+                clocks.get(c).getScene().paint(bufferGraphics, localClip, background);
+                bufferGraphics.setTransform(identity);
+            }
+        }
+        bufferGraphics.setClip(null);
+    }
+}
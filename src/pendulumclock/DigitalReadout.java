@@ -0,0 +1,114 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+// Digital time drawn above the gears, from digits pre-rendered once per color and scale
+public class DigitalReadout implements ClockPart {
+    private static final Font FONT = new Font("Arial", Font.BOLD, 40);
+    // Hours, minutes and seconds, each in the color of its gear
+    private static final Color[] COLORS = {
+            Color.decode("#003b6d"), Color.decode("#b74a23"), Color.decode("#879281")};
+    private static final int[] GROUP_OFFSETS = {0, 60, 120};
+    // Room around each glyph for antialiasing, in device pixels
+    private static final int PAD = 1;
+
+    private final int centerX, baselineY;
+    private final Rectangle bounds;
+
+    private int second;
+    private int shownSecond;
+
+    // Digit images for the scale they were rendered at, and the layout measured alongside them
+    private final BufferedImage[][] glyphs = new BufferedImage[COLORS.length][10];
+    private final int[] advances = new int[10];
+    private volatile double spriteScale = 1;
+    private double glyphScale;
+    private int textLeft, ascent;
+    private final AffineTransform glyphTransform = new AffineTransform();
+
+    public DigitalReadout(int centerX, int baselineY) {
+        this.centerX = centerX;
+        this.baselineY = baselineY;
+        this.bounds = new Rectangle(centerX - 120, baselineY - 45, 240, 60);
+        this.shownSecond = -1;
+    }
+
+    // Show the given clock time, in seconds since midnight
+    public void setTime(double t) {
+        // Times before midnight, reachable by seeking or a negative rate, wrap to the previous day
+        second = Math.floorMod((long) Math.floor(t), 86400);
+    }
+
+    @Override
+    public Rectangle getPartBounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean takeDirtyRegion(Rectangle dirty) {
+        // Only changes once per second
+        if (second == shownSecond) {
+            return false;
+        }
+        shownSecond = second;
+        dirty.setBounds(bounds);
+        return true;
+    }
+
+    // Synchronized since the tiles of a TiledRenderer may paint the part at once, the six small blits share
+    // one transform and the digits rendered for the current scale
+    @Override
+    public synchronized void paintPart(Graphics2D g2d) {
+        if (glyphScale != spriteScale) {
+            renderGlyphs(g2d, spriteScale);
+        }
+
+        for (int group = 0; group < COLORS.length; ++group) {
+            int value = group == 0 ? second / 3600 : group == 1 ? second / 60 % 60 : second % 60;
+            int tens = value / 10;
+            int x = textLeft + GROUP_OFFSETS[group];
+            drawGlyph(g2d, glyphs[group][tens], x);
+            drawGlyph(g2d, glyphs[group][value % 10], x + advances[tens]);
+        }
+    }
+
+    @Override
+    public void setSpriteScale(double scale) {
+        spriteScale = scale;
+    }
+
+    // Blit a glyph one to one onto device pixels, with its baseline on ours
+    private void drawGlyph(Graphics2D g2d, BufferedImage glyph, int x) {
+        glyphTransform.setToTranslation(x, baselineY - ascent);
+        glyphTransform.scale(1 / glyphScale, 1 / glyphScale);
+        glyphTransform.translate(-PAD, -PAD);
+        g2d.drawImage(glyph, glyphTransform, null);
+    }
+
+    // Lay the time out as drawString would have, and render the digits for this scale
+    private void renderGlyphs(Graphics2D g2d, double scale) {
+        FontMetrics metrics = g2d.getFontMetrics(FONT);
+        textLeft = centerX - metrics.stringWidth("00:00:00") / 2;
+        ascent = metrics.getAscent();
+        int height = (int) Math.ceil((metrics.getAscent() + metrics.getDescent()) * scale) + 2 * PAD;
+        for (int digit = 0; digit < 10; ++digit) {
+            advances[digit] = metrics.charWidth('0' + digit);
+            int width = (int) Math.ceil(advances[digit] * scale) + 2 * PAD;
+            String text = String.valueOf(digit);
+            for (int group = 0; group < COLORS.length; ++group) {
+                Color color = COLORS[group];
+                glyphs[group][digit] = SpriteCache.get("Digit:" + FONT + ":" + color.getRGB() + ":" + digit + ":" + scale,
+                        width, height, g -> {
+                            g.translate(PAD, PAD);
+                            g.scale(scale, scale);
+                            g.setFont(FONT);
+                            g.setColor(color);
+                            g.drawString(text, 0, ascent);
+                        });
+            }
+        }
+        glyphScale = scale;
+    }
+}
@@ -0,0 +1,186 @@
+package pendulumclock;
+
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Renders clock frames at simulated times without a window, as fast as the cores allow.
+// Frames go to a numbered PNG sequence in a folder, or as raw 8 bit RGB to stdout ("-") for a video encoder.
+public class FrameExporter {
+    // Frames per task when streaming, small so frames reach the pipe in order without much buffering
+    private static final int STREAM_RANGE = 8;
+    // Finished and rendering RGB frames held for the pipe at once, beyond the one frame per thread always needed
+    private static final long STREAM_BYTES = 256L << 20;
+
+    private final GearTrain train;
+    private final double startTime;
+    private final double fps;
+    private final int frameCount;
+    private final int width, height;
+    private final int threads;
+
+    // Every worker thread moves its own parts, only the sprite cache is shared
+    private final ThreadLocal<Worker> workers;
+
+    public FrameExporter(GearTrain train, double startTime, double fps, int frameCount, int width, int height,
+                         int threads) {
+        this.train = train;
+        this.startTime = startTime;
+        this.fps = fps;
+        this.frameCount = frameCount;
+        this.width = width;
+        this.height = height;
+        this.threads = threads;
+        this.workers = ThreadLocal.withInitial(Worker::new);
+    }
+
+    // Write frame_000000.png and up into the folder, one contiguous frame range per thread
+    public void exportPngs(Path folder) throws IOException, InterruptedException {
+        Files.createDirectories(folder);
+        int range = (frameCount + threads - 1) / threads;
+        run(range, 2 * threads, (worker, first, last) -> {
+            for (int frame = first; frame < last; ++frame) {
+                BufferedImage image = worker.render(frame);
+                ImageIO.write(image, "png", folder.resolve(String.format("frame_%06d.png", frame)).toFile());
+            }
+            return null;
+        }, null);
+    }
+
+    // Write every frame as width * height * 3 bytes of RGB, in frame order
+    public void exportRaw(OutputStream out) throws IOException, InterruptedException {
+        // Large frames get shorter ranges and fewer tasks in flight, down to one frame per thread
+        long frameBytes = 3L * width * height;
+        int range = (int) Math.max(1, Math.min(STREAM_RANGE, STREAM_BYTES / (2 * threads * frameBytes)));
+        int pending = (int) Math.max(threads, Math.min(2 * threads, STREAM_BYTES / (range * frameBytes)));
+        run(range, pending, (worker, first, last) -> {
+            byte[] rgb = new byte[(last - first) * width * height * 3];
+            int offset = 0;
+            for (int frame = first; frame < last; ++frame) {
+                int[] pixels = ((DataBufferInt) worker.render(frame).getRaster().getDataBuffer()).getData();
+                for (int pixel : pixels) {
+                    rgb[offset++] = (byte) (pixel >> 16);
+                    rgb[offset++] = (byte) (pixel >> 8);
+                    rgb[offset++] = (byte) pixel;
+                }
+            }
+            return rgb;
+        }, out);
+        out.flush();
+    }
+
+    private interface RangeTask {
+        byte[] render(Worker worker, int first, int last) throws IOException;
+    }
+
+    // Split the frames into ranges rendered in parallel, handing finished ranges to out in order, with at most
+    // maxPending ranges rendering or waiting
+    private void run(int range, int maxPending, RangeTask task, OutputStream out)
+            throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        // Bounded look-ahead keeps memory flat when the consumer is slower than rendering
+        Deque<Future<byte[]>> pending = new ArrayDeque<>();
+        try {
+            for (int first = 0; first < frameCount || !pending.isEmpty(); ) {
+                while (first < frameCount && pending.size() < maxPending) {
+                    int from = first;
+                    int to = Math.min(frameCount, first + range);
+                    pending.add(pool.submit(() -> task.render(workers.get(), from, to)));
+                    first = to;
+                }
+                byte[] data = pending.remove().get();
+                if (out != null) {
+                    out.write(data);
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private class Worker {
+        private final ClockParts parts = new ClockParts(train);
+        private final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        private final Graphics2D g2d = image.createGraphics();
+        private final Rectangle clip = new Rectangle(0, 0, 1000, 1000);
+        private final Color background = UIManager.getColor("Panel.background");
+
+        Worker() {
+            // The scene only paints the layout area, the bands a non-square size leaves around it stay as cleared here
+            g2d.setColor(background);
+            g2d.fillRect(0, 0, width, height);
+            // Fit the 1000x1000 layout to the output size, undistorted and centered
+            AffineTransform fit = SceneFit.fitTransform(width, height);
+            g2d.transform(fit);
+            // Gear and digit images at the output resolution instead of resampled from 1000x1000
+            parts.getScene().setSpriteScale(fit.getScaleX());
+        }
+
+        BufferedImage render(int frame) {
+            parts.update(startTime + frame / fps);
+            parts.getScene().paint(g2d, clip, background);
+            return image;
+        }
+    }
+
+    // --start=HH:MM:SS --duration=seconds --fps=30 --size=1000x1000 --threads=N --out=folder|- --train=file
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+
+        ClockOptions options;
+        try {
+            options = ClockOptions.parse(args);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            return;
+        }
+        double duration = 10;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = "frames";
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--duration=")) {
+                duration = Double.parseDouble(value);
+            } else if (arg.startsWith("--threads=")) {
+                threads = Integer.parseInt(value);
+            } else if (arg.startsWith("--out=")) {
+                out = value;
+            }
+        }
+        double start = Double.isNaN(options.getStartSeconds()) ? 10 * 3600 + 10 * 60 : options.getStartSeconds();
+        double fps = options.getFrameRate(30);
+        Dimension size = options.getSize(1000, 1000);
+
+        FrameExporter exporter = new FrameExporter(options.getTrain(), start, fps, (int) Math.round(duration * fps),
+                size.width, size.height, threads);
+        long begin = System.nanoTime();
+        if (out.equals("-")) {
+            exporter.exportRaw(new BufferedOutputStream(System.out, 1 << 20));
+        } else {
+            exporter.exportPngs(Path.of(out));
+        }
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+        // stdout may be carrying frames, report on stderr
+        System.err.printf("%d frames in %.2f s (%.1f fps, %.1fx real time)%n",
+                exporter.frameCount, seconds, exporter.frameCount / seconds, duration / seconds);
+    }
+}
@@ -0,0 +1,415 @@
+package pendulumclock;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.locks.LockSupport;
+
+// Serves the clock to browsers as an MJPEG stream, without a window. Every frame is rendered and JPEG encoded
+// once, then the same bytes go out to all clients from one selector thread with non-blocking writes.
+// A client holds at most the frame it is in the middle of sending: when it finishes it moves on to the newest
+// frame and skips whatever was published meanwhile, so a slow reader gets a lower frame rate, never a backlog.
+public class FrameServer {
+    private static final String BOUNDARY = "frame";
+    private static final int MAX_REQUEST = 2048;
+    private static final long REPORT_NANOS = 5_000_000_000L;
+
+    private static final byte[] STREAM_HEADER = ascii("HTTP/1.1 200 OK\r\n"
+            + "Content-Type: multipart/x-mixed-replace; boundary=" + BOUNDARY + "\r\n"
+            + "Cache-Control: no-cache\r\nConnection: close\r\n\r\n");
+    private static final byte[] PAGE = ascii("<!DOCTYPE html><html><head><title>Pendulum Clock</title></head>"
+            + "<body style=\"margin:0;background:#eee\"><img src=\"/stream\" style=\"max-width:100%\"></body></html>");
+
+    // One encoded frame, shared read-only by every client sending it
+    private static final class Frame {
+        final long sequence;
+        // Multipart part: boundary, headers, JPEG and the closing line break
+        final ByteBuffer part;
+        final ByteBuffer jpeg;
+
+        Frame(long sequence, ByteBuffer part, ByteBuffer jpeg) {
+            this.sequence = sequence;
+            this.part = part;
+            this.jpeg = jpeg;
+        }
+    }
+
+    // Connection state, touched by the selector thread only
+    private static final class Client {
+        final ByteBuffer request = ByteBuffer.allocate(MAX_REQUEST);
+        boolean requested;
+        boolean streaming;
+        boolean closeAfterWrite;
+        // Bytes in flight, null when the client is waiting for a frame
+        ByteBuffer[] out;
+        // Last frame taken, 0 before the first
+        long sequence;
+    }
+
+    private final ClockParts parts;
+    private final BufferedImage image;
+    private final Graphics2D g2d;
+    private final Rectangle clip = new Rectangle(0, 0, 1000, 1000);
+    private final Color background = UIManager.getColor("Panel.background");
+    private final ImageWriter writer;
+    private final ImageWriteParam writeParam;
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream(1 << 16);
+
+    private ServerSocketChannel server;
+    private Selector selector;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    // Newest frame, replaced as a whole by publish
+    private volatile Frame latest;
+    private long sequence;
+    // Frame the selector thread last woke the waiting clients for
+    private Frame announced;
+
+    // Written by the selector thread only
+    private volatile int clients;
+    private volatile long framesSent;
+    private volatile long framesDropped;
+
+    public FrameServer(GearTrain train, int width, int height, float quality) {
+        this.parts = new ClockParts(train);
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.g2d = image.createGraphics();
+        // Fit the 1000x1000 layout to the frame undistorted and centered, with gear and digit images at that
+        // resolution. The scene only paints the layout area, so the bands around it are cleared once here
+        g2d.setColor(background);
+        g2d.fillRect(0, 0, width, height);
+        AffineTransform fit = SceneFit.fitTransform(width, height);
+        g2d.transform(fit);
+        parts.getScene().setSpriteScale(fit.getScaleX());
+
+        this.writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        this.writeParam = writer.getDefaultWriteParam();
+        writeParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        writeParam.setCompressionQuality(quality);
+    }
+
+    // Listen on the address, port 0 picks a free one, see getPort
+    public void start(InetSocketAddress address) throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(address, 1024);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        selectorThread = new Thread(this::serve, "frame-server");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+    }
+
+    public int getPort() {
+        return server.socket().getLocalPort();
+    }
+
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+        g2d.dispose();
+        writer.dispose();
+    }
+
+    // Render and encode the clock at time t once, and hand it to every client
+    public void publish(double t) throws IOException {
+        parts.update(t);
+        parts.getScene().paint(g2d, clip, background);
+
+        encoded.reset();
+        try (ImageOutputStream out = new MemoryCacheImageOutputStream(encoded)) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), writeParam);
+        }
+        byte[] header = ascii("--" + BOUNDARY + "\r\nContent-Type: image/jpeg\r\nContent-Length: "
+                + encoded.size() + "\r\n\r\n");
+        byte[] jpegBytes = encoded.toByteArray();
+        byte[] part = new byte[header.length + jpegBytes.length + 2];
+        System.arraycopy(header, 0, part, 0, header.length);
+        System.arraycopy(jpegBytes, 0, part, header.length, jpegBytes.length);
+        part[part.length - 2] = '\r';
+        part[part.length - 1] = '\n';
+
+        ByteBuffer partBuffer = ByteBuffer.wrap(part).asReadOnlyBuffer();
+        ByteBuffer jpeg = ByteBuffer.wrap(part, header.length, jpegBytes.length).slice().asReadOnlyBuffer();
+        latest = new Frame(++sequence, partBuffer, jpeg);
+        selector.wakeup();
+    }
+
+    // Publish fps frames a second of the time source's clock until the server is closed
+    public void run(double fps, TimeSource time) throws IOException {
+        long period = (long) (1_000_000_000L / fps);
+        long deadline = System.nanoTime();
+        long reportStart = deadline;
+        long frames = 0;
+        long sentAtReport = 0, droppedAtReport = 0;
+        long encodeNanos = 0;
+        while (running) {
+            long frameStart = System.nanoTime();
+            publish(time.clockSeconds(frameStart));
+            encodeNanos += System.nanoTime() - frameStart;
+            frames++;
+
+            if (frameStart - reportStart >= REPORT_NANOS) {
+                double seconds = (frameStart - reportStart) / 1e9;
+                long sent = framesSent, dropped = framesDropped;
+                System.out.printf("clients %d  fps %.1f  render+encode %.1f ms  frame %d KB  sent %.0f/s  dropped %.0f/s%n",
+                        clients, frames / seconds, encodeNanos / 1e6 / frames, latest.jpeg.remaining() / 1024,
+                        (sent - sentAtReport) / seconds, (dropped - droppedAtReport) / seconds);
+                reportStart = frameStart;
+                frames = 0;
+                encodeNanos = 0;
+                sentAtReport = sent;
+                droppedAtReport = dropped;
+            }
+
+            // Fell behind: carry on from now instead of publishing a burst
+            deadline = Math.max(deadline + period, System.nanoTime());
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    // Frames written out in full, summed over clients
+    public long getFramesSent() {
+        return framesSent;
+    }
+
+    // Frames clients skipped because they were still busy with an older one
+    public long getFramesDropped() {
+        return framesDropped;
+    }
+
+    private void serve() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
+
+            Frame frame = latest;
+            if (frame != announced) {
+                announced = frame;
+                // Clients done with their last frame start on this one
+                for (SelectionKey key : selector.keys()) {
+                    Client client = (Client) key.attachment();
+                    if (client != null && client.streaming && client.out == null && key.isValid()) {
+                        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    }
+                }
+            }
+
+            Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+            while (selected.hasNext()) {
+                SelectionKey key = selected.next();
+                selected.remove();
+                try {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    if (key.isReadable()) {
+                        read(key);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        write(key);
+                    }
+                } catch (IOException e) {
+                    // Client went away mid write or read
+                    close(key);
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = server.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.register(selector, SelectionKey.OP_READ, new Client());
+            clients++;
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Client client = (Client) key.attachment();
+        if (client.requested) {
+            // Nothing more is expected, only watch for the client closing
+            client.request.clear();
+        }
+        if (channel.read(client.request) < 0) {
+            close(key);
+            return;
+        }
+        if (client.requested) {
+            return;
+        }
+
+        int end = indexOfHeaderEnd(client.request);
+        if (end < 0) {
+            if (!client.request.hasRemaining()) {
+                respond(key, client, "431 Request Header Fields Too Large", "text/plain", ascii("Request too large"));
+            }
+            return;
+        }
+        client.requested = true;
+        String request = new String(client.request.array(), 0, end, StandardCharsets.US_ASCII);
+        String[] line = request.substring(0, request.indexOf('\r')).split(" ");
+        String path = line.length > 1 ? line[1] : "";
+        Frame frame = latest;
+
+        if (!line[0].equals("GET")) {
+            respond(key, client, "405 Method Not Allowed", "text/plain", ascii("GET only"));
+        } else if (path.equals("/") || path.equals("/index.html")) {
+            respond(key, client, "200 OK", "text/html", PAGE);
+        } else if (path.equals("/stream")) {
+            client.streaming = true;
+            client.out = new ByteBuffer[]{ByteBuffer.wrap(STREAM_HEADER)};
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else if (path.equals("/frame.jpg") && frame != null) {
+            client.closeAfterWrite = true;
+            client.out = new ByteBuffer[]{ByteBuffer.wrap(responseHeader("200 OK", "image/jpeg", frame.jpeg.remaining())),
+                    frame.jpeg.duplicate()};
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else if (path.equals("/frame.jpg")) {
+            respond(key, client, "503 Service Unavailable", "text/plain", ascii("No frame yet"));
+        } else {
+            respond(key, client, "404 Not Found", "text/plain", ascii("Not found"));
+        }
+    }
+
+    private void respond(SelectionKey key, Client client, String status, String type, byte[] body) {
+        client.requested = true;
+        client.closeAfterWrite = true;
+        client.out = new ByteBuffer[]{ByteBuffer.wrap(responseHeader(status, type, body.length)), ByteBuffer.wrap(body)};
+        key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        SocketChannel channel = (SocketChannel) key.channel();
+        Client client = (Client) key.attachment();
+        while (true) {
+            if (client.out == null) {
+                if (client.closeAfterWrite) {
+                    close(key);
+                    return;
+                }
+                Frame frame = latest;
+                if (!client.streaming || frame == null || frame.sequence == client.sequence) {
+                    // Up to date, wait for the next publish
+                    key.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+                if (client.sequence != 0) {
+                    framesDropped += frame.sequence - client.sequence - 1;
+                }
+                client.sequence = frame.sequence;
+                client.out = new ByteBuffer[]{frame.part.duplicate()};
+            }
+
+            channel.write(client.out);
+            if (client.out[client.out.length - 1].hasRemaining()) {
+                // Socket buffer full, carry on when it drains
+                return;
+            }
+            if (client.streaming && client.sequence != 0) {
+                framesSent++;
+            }
+            client.out = null;
+        }
+    }
+
+    private void close(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+        clients--;
+    }
+
+    // Index just past the blank line ending the request headers, -1 while incomplete
+    private static int indexOfHeaderEnd(ByteBuffer buffer) {
+        byte[] data = buffer.array();
+        for (int i = 3; i < buffer.position(); ++i) {
+            if (data[i] == '\n' && data[i - 1] == '\r' && data[i - 2] == '\n' && data[i - 3] == '\r') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] responseHeader(String status, String type, int length) {
+        return ascii("HTTP/1.1 " + status + "\r\nContent-Type: " + type + "\r\nContent-Length: " + length
+                + "\r\nCache-Control: no-cache\r\nConnection: close\r\n\r\n");
+    }
+
+    private static byte[] ascii(String s) {
+        return s.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // --port=8080 --fps=10 --size=600x600 --quality=0.8 --train=file --start=HH:MM:SS --rate=1,
+    // then open http://host:port/ in a browser
+    public static void main(String[] args) throws IOException {
+        System.setProperty("java.awt.headless", "true");
+
+        ClockOptions options;
+        try {
+            options = ClockOptions.parse(args);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        double fps = options.getFrameRate(10);
+        Dimension size = options.getSize(600, 600);
+
+        FrameServer server = new FrameServer(options.getTrain(), size.width, size.height, options.getQuality(0.8f));
+        server.start(new InetSocketAddress(options.getPort(8080)));
+        System.out.println("Serving http://localhost:" + server.getPort() + "/");
+        server.run(fps, options.getTimeSource());
+    }
+}
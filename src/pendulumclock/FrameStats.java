@@ -0,0 +1,248 @@
+package pendulumclock;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Frame timing and allocation metrics, summarized every few seconds for the overlay and the export file.
+// Recording happens on the thread that drives the frames and does not allocate.
+public class FrameStats {
+    private static final long WINDOW_NANOS = 5_000_000_000L;
+
+    private final String[] partNames;
+    private final Histogram[] partDraw;
+    private final Histogram interval = new Histogram();
+    private final Histogram update = new Histogram();
+    private final Histogram allocation = new Histogram();
+    private final Histogram tickLatency = new Histogram();
+
+    private final com.sun.management.ThreadMXBean allocationBean;
+
+    private volatile long expectedPeriodNanos;
+    private long windowStart;
+    private long lastFrameStart;
+    private boolean paused;
+    private long lastAllocated;
+    private long frames;
+    private long droppedFrames;
+    private long totalDroppedFrames;
+
+    // Summary of the last complete window, read when painting the overlay
+    private volatile String[] summary = new String[0];
+    private volatile long windowCount;
+
+    // Null when nothing is exported
+    private final Path exportFile;
+    private final boolean json;
+    private final ExecutorService writer;
+
+    public FrameStats(String[] partNames, long expectedPeriodNanos, Path exportFile) {
+        this.partNames = partNames;
+        this.partDraw = new Histogram[partNames.length];
+        for (int i = 0; i < partNames.length; ++i) {
+            partDraw[i] = new Histogram();
+        }
+        this.expectedPeriodNanos = expectedPeriodNanos;
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            allocationBean = (com.sun.management.ThreadMXBean) threads;
+        } else {
+            allocationBean = null;
+        }
+
+        this.exportFile = exportFile;
+        this.json = exportFile != null && exportFile.toString().endsWith(".json");
+        if (exportFile != null) {
+            writer = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "stats-export");
+                thread.setDaemon(true);
+                return thread;
+            });
+            if (!json) {
+                writer.execute(() -> append(csvHeader()));
+            }
+        } else {
+            writer = null;
+        }
+    }
+
+    // Frame rate the driving loop aims for, used to tell dropped frames apart
+    public void setExpectedPeriodNanos(long expectedPeriodNanos) {
+        this.expectedPeriodNanos = expectedPeriodNanos;
+    }
+
+    // Forget the last frame, so the gap of a deliberate pause does not count as dropped frames.
+    // Call from the thread that draws, before its next beginFrame
+    public void pause() {
+        paused = true;
+        lastAllocated = 0;
+    }
+
+    // Call once at the start of every frame, from the thread that draws it
+    public void beginFrame() {
+        long now = System.nanoTime();
+        if (lastFrameStart == 0) {
+            windowStart = now;
+        } else if (!paused) {
+            long elapsed = now - lastFrameStart;
+            interval.record(elapsed);
+            // Anything longer than one and a half periods swallowed at least one frame
+            if (elapsed * 2 > expectedPeriodNanos * 3) {
+                droppedFrames += Math.max(1, Math.round((double) elapsed / expectedPeriodNanos) - 1);
+            }
+        }
+        paused = false;
+        lastFrameStart = now;
+        frames++;
+
+        // Allocation of the whole previous frame, drawing included
+        if (allocationBean != null) {
+            long allocated = allocationBean.getCurrentThreadAllocatedBytes();
+            if (lastAllocated != 0) {
+                allocation.record(allocated - lastAllocated);
+            }
+            lastAllocated = allocated;
+        }
+
+        if (now - windowStart >= WINDOW_NANOS) {
+            closeWindow(now);
+        }
+    }
+
+    public void recordUpdate(long nanos) {
+        update.record(nanos);
+    }
+
+    public void recordPart(int index, long nanos) {
+        partDraw[index].record(nanos);
+    }
+
+    public void recordTickLatency(long nanos) {
+        tickLatency.record(nanos);
+    }
+
+    // Lines every summary has, one per part and the frame, update, tick and allocation lines
+    public int getSummaryLines() {
+        return 6 + partNames.length;
+    }
+
+    public String[] getSummary() {
+        return summary;
+    }
+
+    // Bumped every time a new summary is ready
+    public long getWindowCount() {
+        return windowCount;
+    }
+
+    private void closeWindow(long now) {
+        double seconds = (now - windowStart) / 1_000_000_000.0;
+        totalDroppedFrames += droppedFrames;
+
+        String[] lines = new String[getSummaryLines()];
+        lines[0] = String.format("fps %.1f  dropped %d (%d total)", frames / seconds, droppedFrames, totalDroppedFrames);
+        lines[1] = String.format("interval p50 %s  p99 %s", micros(interval.getPercentile(0.5)), micros(interval.getPercentile(0.99)));
+        lines[2] = String.format("jitter p99-p50 %s  max %s",
+                micros(interval.getPercentile(0.99) - interval.getPercentile(0.5)), micros(interval.getMax()));
+        lines[3] = String.format("update p99 %s", micros(update.getPercentile(0.99)));
+        for (int i = 0; i < partNames.length; ++i) {
+            lines[4 + i] = String.format("%-12s p50 %s  p99 %s", partNames[i],
+                    micros(partDraw[i].getPercentile(0.5)), micros(partDraw[i].getPercentile(0.99)));
+        }
+        lines[4 + partNames.length] = String.format("tick latency p99 %s  max %s",
+                micros(tickLatency.getPercentile(0.99)), micros(tickLatency.getMax()));
+        lines[5 + partNames.length] = allocationBean == null ? "alloc n/a"
+                : String.format("alloc %.0f B/frame  max %d", allocation.getMean(), allocation.getMax());
+
+        if (writer != null) {
+            String row = json ? jsonRow(seconds) : csvRow(seconds);
+            writer.execute(() -> append(row));
+        }
+
+        summary = lines;
+        windowCount++;
+
+        interval.reset();
+        update.reset();
+        allocation.reset();
+        tickLatency.reset();
+        for (Histogram part : partDraw) {
+            part.reset();
+        }
+        frames = 0;
+        droppedFrames = 0;
+        windowStart = now;
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.0fus", nanos / 1000.0);
+    }
+
+    private String csvHeader() {
+        StringBuilder header = new StringBuilder(
+                "time,fps,dropped,interval_p50_ns,interval_p99_ns,interval_max_ns,update_p99_ns");
+        for (String name : partNames) {
+            header.append(',').append(name).append("_p50_ns,").append(name).append("_p99_ns");
+        }
+        return header.append(",tick_latency_p99_ns,alloc_mean_bytes,alloc_max_bytes").toString();
+    }
+
+    private String csvRow(double seconds) {
+        StringBuilder row = new StringBuilder();
+        row.append(System.currentTimeMillis())
+                .append(',').append(String.format("%.2f", frames / seconds))
+                .append(',').append(droppedFrames)
+                .append(',').append(interval.getPercentile(0.5))
+                .append(',').append(interval.getPercentile(0.99))
+                .append(',').append(interval.getMax())
+                .append(',').append(update.getPercentile(0.99));
+        for (Histogram part : partDraw) {
+            row.append(',').append(part.getPercentile(0.5)).append(',').append(part.getPercentile(0.99));
+        }
+        return row.append(',').append(tickLatency.getPercentile(0.99))
+                .append(',').append(Math.round(allocation.getMean()))
+                .append(',').append(allocation.getMax())
+                .toString();
+    }
+
+    // One JSON object per line
+    private String jsonRow(double seconds) {
+        StringBuilder row = new StringBuilder("{");
+        row.append("\"time\":").append(System.currentTimeMillis())
+                .append(",\"fps\":").append(String.format("%.2f", frames / seconds))
+                .append(",\"dropped\":").append(droppedFrames)
+                .append(",\"interval\":{\"p50\":").append(interval.getPercentile(0.5))
+                .append(",\"p99\":").append(interval.getPercentile(0.99))
+                .append(",\"max\":").append(interval.getMax())
+                .append("},\"updateP99\":").append(update.getPercentile(0.99))
+                .append(",\"parts\":{");
+        for (int i = 0; i < partNames.length; ++i) {
+            if (i > 0) {
+                row.append(',');
+            }
+            row.append('"').append(partNames[i]).append("\":{\"p50\":").append(partDraw[i].getPercentile(0.5))
+                    .append(",\"p99\":").append(partDraw[i].getPercentile(0.99)).append('}');
+        }
+        return row.append("},\"tickLatencyP99\":").append(tickLatency.getPercentile(0.99))
+                .append(",\"allocMean\":").append(Math.round(allocation.getMean()))
+                .append(",\"allocMax\":").append(allocation.getMax())
+                .append('}').toString();
+    }
+
+    private void append(String line) {
+        try {
+            Files.writeString(exportFile, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
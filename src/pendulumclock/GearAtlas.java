@@ -0,0 +1,194 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferInt;
+import java.awt.image.Raster;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// A gear pre-rendered at evenly spaced angles, for gears that turn too slowly to be worth rotating every frame.
+// Frames are rendered on first use into slots packed into ARGB int arrays, allocated a page at a time as slots are
+// first needed, the least recently used slot is reused once the memory budget is full. A slot being drawn from is
+// pinned until released, so tiles painting in parallel never see their frame replaced halfway through the blit
+public class GearAtlas {
+    // Gears keep the atlas they use, the map only shares them and forgets old ones, such as those of a previous scale
+    private static final int MAX_SHARED = 8;
+    private static final Map<String, GearAtlas> atlases = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, GearAtlas> eldest) {
+            return size() > MAX_SHARED;
+        }
+    };
+    // Slots per page come to about this much, at least one
+    private static final long PAGE_BYTES = 1L << 20;
+    private static final ColorModel ARGB_PRE = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE).getColorModel();
+
+    private final int size;
+    private final int frames;
+    private final double step;
+    private final Consumer<Graphics2D> painter;
+
+    // size * size pixels per slot, pageSlots back to back in each page, null until a slot in it is used
+    private final int pageSlots;
+    private final int[][] pages;
+    private final BufferedImage[] slots;
+
+    // Frame held by each slot and slot holding each frame, -1 for none
+    private final int[] frameOfSlot;
+    private final int[] slotOfFrame;
+    // Slots in a doubly linked list from most to least recently used
+    private final int[] newer;
+    private final int[] older;
+    private int newest = -1;
+    private int oldest = -1;
+    private int usedSlots;
+    // Callers still drawing from each slot, it cannot be reused until back to 0
+    private final int[] pins;
+
+    private GearAtlas(int size, int frames, long maxBytes, Consumer<Graphics2D> painter) {
+        this.size = size;
+        this.frames = frames;
+        this.step = 2 * Math.PI / frames;
+        this.painter = painter;
+
+        long slotBytes = 4L * size * size;
+        int slotCount = (int) Math.max(1, Math.min(frames, maxBytes / slotBytes));
+        this.pageSlots = (int) Math.max(1, Math.min(slotCount, PAGE_BYTES / slotBytes));
+        this.pages = new int[(slotCount + pageSlots - 1) / pageSlots][];
+        this.slots = new BufferedImage[slotCount];
+
+        this.frameOfSlot = new int[slotCount];
+        this.newer = new int[slotCount];
+        this.older = new int[slotCount];
+        this.pins = new int[slotCount];
+        this.slotOfFrame = new int[frames];
+        Arrays.fill(slotOfFrame, -1);
+    }
+
+    // Atlas shared by every gear with the same key, painter draws the unrotated gear around the origin
+    public static synchronized GearAtlas get(String key, int size, int frames, long maxBytes,
+                                             Consumer<Graphics2D> painter) {
+        return atlases.computeIfAbsent(key + ":" + frames, k -> new GearAtlas(size, frames, maxBytes, painter));
+    }
+
+    public double getStep() {
+        return step;
+    }
+
+    // Gear rotated by index * step, the image stays valid until release(index) is called
+    public synchronized BufferedImage acquire(long index) {
+        int frame = (int) Math.floorMod(index, (long) frames);
+        boolean interrupted = false;
+        int slot;
+        while (true) {
+            slot = slotOfFrame[frame];
+            if (slot >= 0) {
+                unlink(slot);
+                break;
+            }
+            slot = claimSlot();
+            if (slot >= 0) {
+                render(frame, slot);
+                frameOfSlot[slot] = frame;
+                slotOfFrame[frame] = slot;
+                break;
+            }
+            // Every slot is pinned, look again once one is released, another caller may have rendered the frame
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        pins[slot]++;
+        pushNewest(slot);
+        return slots[slot];
+    }
+
+    // Done drawing the frame acquired for index
+    public synchronized void release(long index) {
+        int slot = slotOfFrame[(int) Math.floorMod(index, (long) frames)];
+        if (--pins[slot] == 0) {
+            notifyAll();
+        }
+    }
+
+    // A free slot, or the least recently used one nobody is drawing from, -1 if every slot is pinned
+    private int claimSlot() {
+        if (usedSlots < slots.length) {
+            createSlot(usedSlots);
+            return usedSlots++;
+        }
+        for (int slot = oldest; slot >= 0; slot = newer[slot]) {
+            if (pins[slot] == 0) {
+                unlink(slot);
+                slotOfFrame[frameOfSlot[slot]] = -1;
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // Each slot is an image viewing its own stretch of its page
+    private void createSlot(int slot) {
+        int page = slot / pageSlots;
+        if (pages[page] == null) {
+            int count = Math.min(pageSlots, slots.length - page * pageSlots);
+            pages[page] = new int[count * size * size];
+        }
+        DataBufferInt buffer = new DataBufferInt(pages[page], size * size, slot % pageSlots * size * size);
+        SinglePixelPackedSampleModel model = new SinglePixelPackedSampleModel(DataBuffer.TYPE_INT, size, size,
+                new int[]{0xff0000, 0xff00, 0xff, 0xff000000});
+        WritableRaster raster = Raster.createWritableRaster(model, buffer, null);
+        slots[slot] = new BufferedImage(ARGB_PRE, raster, true, null);
+    }
+
+    private void render(int frame, int slot) {
+        int offset = slot % pageSlots * size * size;
+        Arrays.fill(pages[slot / pageSlots], offset, offset + size * size, 0);
+
+        Graphics2D g2d = slots[slot].createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.translate(size / 2, size / 2);
+        g2d.rotate(frame * step);
+        painter.accept(g2d);
+        g2d.dispose();
+    }
+
+    private void unlink(int slot) {
+        int n = newer[slot];
+        int o = older[slot];
+        if (n >= 0) {
+            older[n] = o;
+        } else {
+            newest = o;
+        }
+        if (o >= 0) {
+            newer[o] = n;
+        } else {
+            oldest = n;
+        }
+    }
+
+    private void pushNewest(int slot) {
+        newer[slot] = -1;
+        older[slot] = newest;
+        if (newest >= 0) {
+            newer[newest] = slot;
+        }
+        newest = slot;
+        if (oldest < 0) {
+            oldest = slot;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package pendulumclock;
+
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Path2D;
+
+// Gear geometry built once as paths in the gear's own coordinates, so a whole ring of teeth is one fill.
+// Everything added is wound the same way: overlapping pieces stay filled, and only cutCircle makes a hole
+final class GearOutline {
+    private static final AffineTransform MIRROR = AffineTransform.getScaleInstance(1, -1);
+
+    private GearOutline() {
+    }
+
+    static Path2D.Double create() {
+        return new Path2D.Double(Path2D.WIND_NON_ZERO);
+    }
+
+    // count copies of the polygon, the first turned by startAngle and each next one by 2 pi / count more,
+    // as if the graphics were rotated between fills
+    static void addRing(Path2D path, double[] xs, double[] ys, int count, double startAngle) {
+        double step = 2 * Math.PI / count;
+        for (int i = 0; i < count; ++i) {
+            addPolygon(path, xs, ys, startAngle + i * step);
+        }
+    }
+
+    // The polygon turned by angle around the origin
+    static void addPolygon(Path2D path, double[] xs, double[] ys, double angle) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        int n = xs.length;
+        // Same winding as the circles
+        boolean reverse = signedArea(xs, ys) < 0;
+        for (int k = 0; k < n; ++k) {
+            int i = reverse ? n - 1 - k : k;
+            double x = xs[i] * cos - ys[i] * sin;
+            double y = xs[i] * sin + ys[i] * cos;
+            if (k == 0) {
+                path.moveTo(x, y);
+            } else {
+                path.lineTo(x, y);
+            }
+        }
+        path.closePath();
+    }
+
+    static void addCircle(Path2D path, double radius) {
+        path.append(new Ellipse2D.Double(-radius, -radius, 2 * radius, 2 * radius), false);
+    }
+
+    // The same circle wound the other way, cancelling what it covers
+    static void cutCircle(Path2D path, double radius) {
+        path.append(new Ellipse2D.Double(-radius, -radius, 2 * radius, 2 * radius).getPathIterator(MIRROR), false);
+    }
+
+    private static double signedArea(double[] xs, double[] ys) {
+        double area = 0;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            area += xs[j] * ys[i] - xs[i] * ys[j];
+        }
+        return area;
+    }
+}
@@ -0,0 +1,205 @@
+package pendulumclock;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Parts of a clock and how they mesh, read from a text file with one part per line:
+//     <kind> <name> key=value ... flag ...
+// Kinds are pendulum, scape, gear and readout, lines starting with # are comments.
+// A gear with mesh=<part> is driven by the inner teeth of an earlier part against its own outer teeth and turns
+// the other way, phase=<teeth> turns it by a fraction of a tooth.
+// Every angle is swing * pendulum + ratio * scape + phase, the factors are worked out once here.
+public class GearTrain {
+    public static final int PENDULUM = 0;
+    public static final int SCAPE = 1;
+    public static final int GEAR = 2;
+    public static final int READOUT = 3;
+
+    private static final String[] KINDS = {"pendulum", "scape", "gear", "readout"};
+
+    private static GearTrain defaultTrain;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> kinds = new ArrayList<>();
+    private final List<Map<String, String>> attributes = new ArrayList<>();
+
+    private double[] swing = new double[0];
+    private double[] ratio = new double[0];
+    private double[] phase = new double[0];
+    private int scapeTeeth;
+
+    private GearTrain() {
+    }
+
+    // The pendulum clock the application has always shown, parsed once
+    public static synchronized GearTrain getDefault() {
+        if (defaultTrain == null) {
+            try (Reader reader = new InputStreamReader(
+                    GearTrain.class.getResourceAsStream("/clock.train"), StandardCharsets.UTF_8)) {
+                defaultTrain = parse(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return defaultTrain;
+    }
+
+    public static GearTrain load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            return parse(reader);
+        }
+    }
+
+    public static GearTrain parse(Reader reader) throws IOException {
+        GearTrain train = new GearTrain();
+        BufferedReader lines = new BufferedReader(reader);
+        int lineNumber = 0;
+        for (String line; (line = lines.readLine()) != null; ) {
+            ++lineNumber;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                train.addPart(line.split("\\s+"));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        if (train.scapeTeeth == 0) {
+            throw new IllegalArgumentException("The train has no scape gear");
+        }
+        return train;
+    }
+
+    private void addPart(String[] tokens) {
+        if (tokens.length < 2) {
+            throw new IllegalArgumentException("Expected <kind> <name>");
+        }
+        int kind = List.of(KINDS).indexOf(tokens[0]);
+        if (kind < 0) {
+            throw new IllegalArgumentException("Unknown part kind " + tokens[0]);
+        }
+        String name = tokens[1];
+        if (names.contains(name)) {
+            throw new IllegalArgumentException("Duplicate part " + name);
+        }
+
+        Map<String, String> values = new HashMap<>();
+        for (int i = 2; i < tokens.length; ++i) {
+            int equals = tokens[i].indexOf('=');
+            if (equals < 0) {
+                values.put(tokens[i], "true");
+            } else {
+                values.put(tokens[i].substring(0, equals), tokens[i].substring(equals + 1));
+            }
+        }
+
+        int part = names.size();
+        names.add(name);
+        kinds.add(kind);
+        attributes.add(values);
+        swing = grow(swing);
+        ratio = grow(ratio);
+        phase = grow(phase);
+
+        if (kind == PENDULUM) {
+            swing[part] = 1;
+        } else if (kind == SCAPE) {
+            if (scapeTeeth != 0) {
+                throw new IllegalArgumentException("Only one scape gear can drive the train");
+            }
+            scapeTeeth = getInt(part, "teeth");
+            ratio[part] = 1;
+        } else if (kind == GEAR) {
+            String mesh = getString(part, "mesh");
+            int driver = names.indexOf(mesh);
+            if (driver < 0 || driver == part) {
+                throw new IllegalArgumentException("Gear " + name + " meshes " + mesh + ", which is not defined above it");
+            }
+            if (kinds.get(driver) != SCAPE && kinds.get(driver) != GEAR) {
+                throw new IllegalArgumentException("Gear " + name + " meshes " + mesh + ", which has no teeth");
+            }
+            int teeth = getInt(part, "teeth");
+            // Meshing gears turn opposite ways, by the tooth count ratio
+            ratio[part] = -((double) getInt(driver, "inner") / teeth) * ratio[driver];
+            phase[part] = 2 * Math.PI * getDouble(part, "phase", 0) / teeth;
+        }
+    }
+
+    private static double[] grow(double[] array) {
+        double[] grown = new double[array.length + 1];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    public int getPartCount() {
+        return names.size();
+    }
+
+    public String getName(int part) {
+        return names.get(part);
+    }
+
+    public int getKind(int part) {
+        return kinds.get(part);
+    }
+
+    public int getScapeTeeth() {
+        return scapeTeeth;
+    }
+
+    // Per part weights of the pendulum angle, of the scape angle, and fixed offsets
+    public double[] getSwing() {
+        return swing.clone();
+    }
+
+    public double[] getRatio() {
+        return ratio.clone();
+    }
+
+    public double[] getPhase() {
+        return phase.clone();
+    }
+
+    public boolean hasFlag(int part, String key) {
+        return attributes.get(part).containsKey(key);
+    }
+
+    public String getString(int part, String key) {
+        String value = attributes.get(part).get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Part " + names.get(part) + " has no " + key);
+        }
+        return value;
+    }
+
+    public int getInt(int part, String key) {
+        try {
+            return Integer.parseInt(getString(part, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Part " + names.get(part) + " has a bad " + key);
+        }
+    }
+
+    public double getDouble(int part, String key, double defaultValue) {
+        if (!attributes.get(part).containsKey(key)) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(getString(part, key));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Part " + names.get(part) + " has a bad " + key);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.function.IntConsumer;
+
+// How much drawing the clock window deserves: all of it while focused, a reduced rate while shown but in the
+// background, and none while iconified or hidden. Java cannot see a window being covered by others, but a
+// covered or locked screen takes the focus away, which lands in the background state.
+// The CPU the process used during every idle stretch is reported when it ends
+public class IdleMode {
+    public static final int ACTIVE = 0;
+    public static final int BACKGROUND = 1;
+    public static final int HIDDEN = 2;
+    private static final String[] NAMES = {"active", "background", "hidden"};
+
+    private final JFrame frame;
+    // Told the new state on the event thread
+    private final IntConsumer listener;
+    private final com.sun.management.OperatingSystemMXBean os;
+
+    private int state = ACTIVE;
+    private long idleStartNanos;
+    private long idleStartCpuNanos;
+
+    public IdleMode(JFrame frame, IntConsumer listener) {
+        this.frame = frame;
+        this.listener = listener;
+        OperatingSystemMXBean bean = ManagementFactory.getOperatingSystemMXBean();
+        this.os = bean instanceof com.sun.management.OperatingSystemMXBean
+                ? (com.sun.management.OperatingSystemMXBean) bean : null;
+
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowIconified(WindowEvent e) {
+                update();
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                update();
+            }
+
+            @Override
+            public void windowActivated(WindowEvent e) {
+                update();
+            }
+
+            @Override
+            public void windowDeactivated(WindowEvent e) {
+                update();
+            }
+        });
+        frame.getRootPane().addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                update();
+            }
+        });
+    }
+
+    public int getState() {
+        return state;
+    }
+
+    private void update() {
+        boolean shown = frame.isShowing() && (frame.getExtendedState() & JFrame.ICONIFIED) == 0;
+        int next = !shown ? HIDDEN : frame.isActive() ? ACTIVE : BACKGROUND;
+        if (next == state) {
+            return;
+        }
+        if (state != ACTIVE) {
+            report();
+        }
+        if (next != ACTIVE) {
+            idleStartNanos = System.nanoTime();
+            idleStartCpuNanos = cpuNanos();
+        }
+        state = next;
+        listener.accept(next);
+    }
+
+    private void report() {
+        double seconds = (System.nanoTime() - idleStartNanos) / 1e9;
+        if (os == null) {
+            System.out.printf("%s %.1f s, CPU n/a%n", NAMES[state], seconds);
+            return;
+        }
+        double cpuSeconds = (cpuNanos() - idleStartCpuNanos) / 1e9;
+        System.out.printf("%s %.1f s, CPU %.2f s (%.1f%% of one core)%n",
+                NAMES[state], seconds, cpuSeconds, 100 * cpuSeconds / seconds);
+    }
+
+    private long cpuNanos() {
+        return os != null ? os.getProcessCpuTime() : 0;
+    }
+}
@@ -0,0 +1,190 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+
+public class Pendulum implements ClockPart {
+    private static final Color ROD_COLOR = Color.decode("#6d3c11");
+    private static final Color SCAPE_COLOR = Color.decode("#b88b5c");
+    private static final Color PIVOT_COLOR = Color.decode("#8e582c");
+    private static final Color BULB_COLOR = Color.decode("#a06c3f");
+
+    private final int pivotX, pivotY, pivotRadius;
+    private final int scapeLength, scapeShortLength;
+    private final int rodLength, rodStroke, bulbRadius;
+    private final Rectangle bounds;
+    private double angle;
+    // What fillRect and fillOval would build on every call under a rotated transform, built once
+    private final Rectangle rod, scapeArm, scapeShortArm;
+    private final Ellipse2D pivot, bulb;
+
+    // Extent of the drawing around the pivot before rotation
+    private final int halfWidth, top, bottom;
+    private final double angleStep;
+    private long angleIndex;
+    private final Rectangle swept = new Rectangle();
+    private final Rectangle dirtyRegion = new Rectangle();
+    private boolean moved;
+
+    public Pendulum(int pX, int pY, int pRadius,
+                    int rLength, int rStroke,
+                    int sLength, int sShortLength,
+                    int bRadius, double A) {
+        this.pivotX = pX;
+        this.pivotY = pY;
+        this.pivotRadius = pRadius;
+        this.scapeLength = sLength;
+        this.scapeShortLength = sShortLength;
+        this.rodLength = rLength;
+        this.rodStroke = rStroke;
+        this.bulbRadius = bRadius;
+        this.angle = A;
+        this.rod = new Rectangle(-rStroke / 2, 0, rStroke, rLength);
+        this.scapeArm = new Rectangle(-rStroke / 2, 0, rStroke, sLength);
+        this.scapeShortArm = new Rectangle(-rStroke / 2, 0, rStroke, sShortLength);
+        this.pivot = new Ellipse2D.Float(-pRadius, -pRadius, pRadius * 2, pRadius * 2);
+        this.bulb = new Ellipse2D.Float(-bRadius, rLength - bRadius, bRadius * 2, bRadius * 2);
+
+        // Anything the rod, bulb or scape arms can reach while swinging around the pivot
+        int reach = Math.max(Math.max(rLength + bRadius, sLength + sShortLength + rStroke), pRadius) + 2;
+        this.bounds = new Rectangle(pX - reach, pY - reach, 2 * reach, 2 * reach);
+
+        this.halfWidth = Math.max(Math.max(sLength + sShortLength + rStroke, bRadius), pRadius) + 2;
+        this.top = -pRadius - 2;
+        this.bottom = rLength + bRadius + 2;
+        // A quarter of a pixel at the bottom of the bulb
+        this.angleStep = 0.25 / bottom;
+        this.angleIndex = Math.round(A / angleStep);
+        sweep(A, swept);
+        this.dirtyRegion.setBounds(swept);
+        this.moved = true;
+    }
+
+    public void setAngle(double angle) {
+        // Ignore changes too small to move the bulb by a visible amount
+        long index = Math.round(angle / angleStep);
+        if (index != angleIndex) {
+            angleIndex = index;
+            this.angle = angle;
+
+            // Both where the pendulum was and where it is now need repainting
+            if (!moved) {
+                dirtyRegion.setBounds(swept);
+                moved = true;
+            }
+            sweep(angle, swept);
+            dirtyRegion.add(swept);
+        }
+    }
+
+    // Screen box covered by the pendulum drawn at the given angle
+    private void sweep(double angle, Rectangle r) {
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+
+        // Rotate the four corners of the unrotated box around the pivot
+        double x1 = -halfWidth * cos - top * sin, y1 = -halfWidth * sin + top * cos;
+        double x2 = halfWidth * cos - top * sin, y2 = halfWidth * sin + top * cos;
+        double x3 = -halfWidth * cos - bottom * sin, y3 = -halfWidth * sin + bottom * cos;
+        double x4 = halfWidth * cos - bottom * sin, y4 = halfWidth * sin + bottom * cos;
+
+        int minX = (int) Math.floor(Math.min(Math.min(x1, x2), Math.min(x3, x4)));
+        int maxX = (int) Math.ceil(Math.max(Math.max(x1, x2), Math.max(x3, x4)));
+        int minY = (int) Math.floor(Math.min(Math.min(y1, y2), Math.min(y3, y4)));
+        int maxY = (int) Math.ceil(Math.max(Math.max(y1, y2), Math.max(y3, y4)));
+        r.setBounds(pivotX + minX, pivotY + minY, maxX - minX, maxY - minY);
+    }
+
+    @Override
+    public Rectangle getPartBounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean takeDirtyRegion(Rectangle dirty) {
+        if (!moved) {
+            return false;
+        }
+        moved = false;
+        dirty.setBounds(dirtyRegion);
+        return true;
+    }
+
+    @Override
+    public void paintPart(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        // Store original transform
+        AffineTransform oldTransform = g2d.getTransform();
+
+        // Translate to pivot point and rotate around it
+        g2d.translate(pivotX, pivotY);
+        g2d.rotate(angle);
+
+        // Draw rod
+        g2d.setColor(ROD_COLOR);
+        g2d.fill(rod);
+
+        // Draw scape arms
+        g2d.rotate(Math.PI / 4);
+        g2d.setColor(SCAPE_COLOR);
+        g2d.fill(scapeArm);
+        g2d.rotate(- Math.PI / 2);
+        g2d.fill(scapeArm);
+        g2d.rotate(Math.PI / 4);
+
+        // Draw scape 1st short arm
+        g2d.setColor(SCAPE_COLOR);
+        /*g2d.translate(-(scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2,
+                (scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2);
+        g2d.rotate(- Math.PI / 4);
+        g2d.fillRect(-rodStroke / 2, 0, rodStroke, scapeShortLength);
+        g2d.rotate(Math.PI / 4);
+        g2d.translate((scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2,
+                -(scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2);*/
+
+        // Draw scape 2nd short arm
+        g2d.translate((scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2,
+                (scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2);
+        g2d.rotate(Math.PI / 4);
+        g2d.fill(scapeShortArm);
+        g2d.rotate(-Math.PI / 4);
+        g2d.translate(-(scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2,
+                -(scapeLength - (double) rodStroke /2) * Math.sqrt(2)/2);
+
+        // Draw pivot
+        g2d.setColor(PIVOT_COLOR);
+        g2d.fill(pivot);
+
+        // Draw bulb
+        g2d.setColor(BULB_COLOR);
+        g2d.fill(bulb);
+
+        // Restore original transform
+        g2d.setTransform(oldTransform);
+    }
+
+    // For test alone
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("Pendulum");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setSize(400, 400);
+
+            Pendulum pendulum = new Pendulum(
+                    200, 100, 20,
+                    200, 10,
+                    80, 20,
+                    30, Math.PI / 12);
+            ClockFace face = new ClockFace();
+            face.addPart(pendulum);
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.add(face, BorderLayout.CENTER);
+
+            frame.add(panel);
+            frame.setVisible(true);
+        });
+    }
+}
\ No newline at end of file
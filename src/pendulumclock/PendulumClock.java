@@ -0,0 +1,364 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Properties;
+
+public class PendulumClock extends JFrame {
+    // Render mode driven by the 20 ms Swing timer and dirty-region repaints
+    public static final int SWING_TIMER = -1;
+    // Frames a second while the window is in the background, see IdleMode
+    public static final int BACKGROUND_FPS = 15;
+    private static final int TIMER_DELAY = 20;
+    // Offscreen frames drawn before the clock goes live
+    private static final int WARM_UP_FRAMES = 10;
+
+    // Set up off the event thread while the window shows the cached frame, see prepare and start
+    private ClockParts parts;
+    private FrameStats stats;
+    private StatsOverlay statsOverlay;
+    // Only one of these is used, depending on the render mode
+    private ClockFace clockFace;
+    private RenderLoop renderLoop;
+    private Timer timer;
+    // Null until the tick is decoded and the line open
+    private volatile TickPlayer tickPlayer;
+    private long ticksSeen;
+
+    // Replaced on seek, read by the render and audio threads
+    private volatile TimeSource timeSource;
+    private volatile double seekTarget = Double.NaN;
+
+    // F5 saves the simulation state here, for the next start to continue from
+    private final Path snapshotFile;
+    private volatile boolean snapshotRequested;
+
+    private final int backgroundFps;
+    // Not drawing at all while idle
+    private boolean stopped;
+    // Set when the clock runs again, the next update jumps straight to the current state
+    private volatile boolean resync;
+
+    private final StartupCache startupCache;
+    private final StartupMetrics metrics;
+    private StartupView startupView;
+
+    private boolean soundPlaying;
+
+    @Override
+    public void paintComponents(Graphics g) {
+        super.paintComponents(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    }
+
+    public PendulumClock() {
+        this(new ClockOptions());
+    }
+
+    public PendulumClock(ClockOptions options) {
+        this(options, new StartupMetrics());
+    }
+
+    public PendulumClock(ClockOptions options, StartupMetrics metrics) {
+        setTitle("Pendulum Clock");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setSize(1000, 1000);
+
+        // Seconds since midnight, the gear train repeats every 12 hours and the readout needs all 24
+        timeSource = options.getTimeSource();
+        snapshotFile = options.getSnapshotFile();
+        backgroundFps = options.getBackgroundFps();
+        startupCache = new StartupCache(options.getCacheFolder());
+        this.metrics = metrics;
+
+        // Show the clock as the last run left it right away, the live one replaces it once ready
+        startupView = new StartupView(startupCache.readFrame(), options.isFit(), metrics);
+        add(startupView);
+        setVisible(true);
+
+        // Decode the tick and open the audio line meanwhile
+        Thread audio = new Thread(() -> {
+            TickPlayer player = options.isScheduledTicks()
+                    ? new TickPlayer("/tick.wav", this::clockSeconds) : new TickPlayer("/tick.wav");
+            SwingUtilities.invokeLater(() -> {
+                player.setParked(stopped);
+                tickPlayer = player;
+            });
+        }, "audio-prepare");
+        audio.setDaemon(true);
+        audio.start();
+
+        Thread prepare = new Thread(() -> {
+            prepare(options);
+            SwingUtilities.invokeLater(() -> start(options));
+        }, "clock-prepare");
+        prepare.setDaemon(true);
+        prepare.start();
+    }
+
+    // Off the event thread: build the parts, restore any snapshot and draw a few frames offscreen,
+    // which renders the sprites and gets the paint code compiled before the first frame on screen
+    private void prepare(ClockOptions options) {
+        parts = new ClockParts(options.getTrain());
+        if (options.getAtlasFrames() != ClockParts.NO_ATLAS) {
+            parts.useAtlas(options.getAtlasFrames(), ClockParts.ATLAS_BYTES);
+        }
+
+        if (options.isPhysics()) {
+            parts.usePhysics(clockSeconds());
+        }
+
+        // Continue exactly where a saved run stopped
+        if (snapshotFile != null && Files.exists(snapshotFile)) {
+            try {
+                ClockSnapshot snapshot = ClockSnapshot.read(snapshotFile);
+                setTimeSource(timeSource.seekTo(snapshot.getTime()));
+                snapshot.restore(parts);
+                soundPlaying = snapshot.isTicked();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+
+        ClockScene scene = parts.getScene();
+        BufferedImage warmUp = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = warmUp.createGraphics();
+        Rectangle clip = new Rectangle(0, 0, 1000, 1000);
+        double t = clockSeconds();
+        for (int frame = 0; frame < WARM_UP_FRAMES; ++frame) {
+            t = clockSeconds();
+            parts.update(t);
+            scene.paint(g2d, clip, getBackground());
+        }
+        g2d.dispose();
+        // Any tick passed while warming up stays silent
+        soundPlaying = parts.isTicked(t);
+
+        // Metrics panel right of the time, F3 shows and hides it
+        String[] partNames = Arrays.copyOf(scene.getPartNames(), scene.getPartCount() + 1);
+        partNames[scene.getPartCount()] = "overlay";
+        stats = new FrameStats(partNames, TIMER_DELAY * 1_000_000L, options.getStatsFile());
+        statsOverlay = new StatsOverlay(stats, 640, 10, 340, 190);
+        scene.addPart("overlay", statsOverlay);
+        scene.setStats(stats);
+    }
+
+    // On the event thread once prepare is done: swap the cached frame for the live clock and start it
+    private void start(ClockOptions options) {
+        KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(e -> {
+            if (e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_F3) {
+                statsOverlay.toggle();
+                return true;
+            }
+            if (e.getID() == KeyEvent.KEY_PRESSED && e.getKeyCode() == KeyEvent.VK_F5 && snapshotFile != null) {
+                // Saved by the next update, on the thread that moves the parts
+                snapshotRequested = true;
+                return true;
+            }
+            return false;
+        });
+
+        remove(startupView);
+        startupView = null;
+        ClockScene scene = parts.getScene();
+        if (options.getRenderFps() == SWING_TIMER) {
+            clockFace = new ClockFace(scene, options.isFit());
+            add(clockFace);
+            validate();
+            timer = new Timer(TIMER_DELAY, e -> updateComponents());
+            timer.start();
+        } else {
+            // The buffer strategy needs the canvas on screen before the loop starts
+            ClockCanvas clockCanvas = new ClockCanvas(scene, options.isFit(), options.getTileThreads());
+            add(clockCanvas);
+            validate();
+            renderLoop = new RenderLoop(clockCanvas, frameTime -> updateAngles(clockSeconds(frameTime)), options.getRenderFps(), stats);
+            renderLoop.setSpinWait(options.isSpinWait());
+            renderLoop.start();
+        }
+
+        new IdleMode(this, this::setIdleState);
+    }
+
+    // Draw less while in the background and nothing while hidden, when the tick goes quiet as well
+    private void setIdleState(int state) {
+        int fps = state == IdleMode.ACTIVE ? RenderLoop.NO_CAP
+                : state == IdleMode.BACKGROUND ? backgroundFps : 0;
+        boolean stop = fps == 0;
+        if (stop != stopped) {
+            stopped = stop;
+            TickPlayer player = tickPlayer;
+            if (player != null) {
+                player.setParked(stop);
+            }
+            if (!stop) {
+                resync = true;
+            }
+        }
+
+        if (timer == null) {
+            renderLoop.setCap(fps);
+        } else if (stop) {
+            timer.stop();
+        } else {
+            timer.setDelay(fps > 0 ? Math.max(TIMER_DELAY, 1000 / fps) : TIMER_DELAY);
+            stats.setExpectedPeriodNanos(timer.getDelay() * 1_000_000L);
+            timer.start();
+        }
+    }
+
+    // Seconds since midnight, the time base of the whole gear train
+    private double clockSeconds() {
+        return clockSeconds(System.nanoTime());
+    }
+
+    // Clock time at the given System.nanoTime() instant
+    private double clockSeconds(long nanoTime) {
+        return timeSource.clockSeconds(nanoTime);
+    }
+
+    // Scheduled ticks follow the new time from the next chunk, not the audio queued against the old one
+    private void setTimeSource(TimeSource source) {
+        timeSource = source;
+        TickPlayer player = tickPlayer;
+        if (player != null) {
+            player.resync();
+        }
+    }
+
+    // Jump to clock time seconds with the next update, computing the state there instead of running up to it
+    public void seek(double seconds) {
+        seekTarget = seconds;
+    }
+
+    private void updateComponents() {
+        updateAngles(clockSeconds());
+
+        // Repaint only what moved
+        clockFace.repaintMovedParts();
+    }
+
+    private void updateAngles(double elapsedTime) {
+        boolean resume = resync;
+        if (resume) {
+            resync = false;
+            stats.pause();
+        }
+        stats.beginFrame();
+        long updateStart = System.nanoTime();
+
+        double target = seekTarget;
+        if (!Double.isNaN(target)) {
+            seekTarget = Double.NaN;
+            setTimeSource(timeSource.seekTo(target));
+            parts.seek(target);
+            // A tick belongs to the time it happened at, not to where we land
+            soundPlaying = parts.isTicked(target);
+            elapsedTime = target;
+        }
+
+        if (resume) {
+            // Compute the state for now directly, nothing of the time away is played back
+            parts.seek(elapsedTime);
+            soundPlaying = parts.isTicked(elapsedTime);
+        }
+
+        parts.update(elapsedTime);
+
+        // Tick once as the scape gear comes to rest, silently until the audio is ready
+        TickPlayer player = tickPlayer;
+        if (parts.isTicked(elapsedTime)) {
+            if (!soundPlaying) {
+                if (player != null) {
+                    player.tick();
+                }
+                soundPlaying = true;
+            }
+        } else {
+            if (soundPlaying) {
+                soundPlaying = false;
+            }
+        }
+
+        if (snapshotRequested) {
+            snapshotRequested = false;
+            try {
+                ClockSnapshot.capture(parts, elapsedTime, soundPlaying).write(snapshotFile);
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+
+        // Pick up the latency of a tick the audio thread played since the last frame
+        long ticks = player == null ? 0 : player.getTicksPlayed();
+        if (ticks != ticksSeen) {
+            ticksSeen = ticks;
+            stats.recordTickLatency(player.getLastLatencyNanos());
+        }
+
+        stats.recordUpdate(System.nanoTime() - updateStart);
+
+        long period = timer != null ? timer.getDelay() * 1_000_000L : 1_000_000_000L / renderLoop.getFps();
+        if (metrics.frame(period)) {
+            System.out.println(metrics);
+            cacheFrame();
+        }
+    }
+
+    // Keep a steady frame for the next start to show, drawn here between updates and written in the background
+    private void cacheFrame() {
+        BufferedImage frame = new BufferedImage(1000, 1000, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frame.createGraphics();
+        parts.getScene().paint(g2d, new Rectangle(0, 0, 1000, 1000), getBackground());
+        g2d.dispose();
+        Thread writer = new Thread(() -> {
+            try {
+                startupCache.writeFrame(frame);
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }, "frame-cache");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // --train=file --scheduled-ticks --fps=30|60|120|adaptive --stats=file --atlas[=frames] --physics
+    // --start=HH:MM:SS[.s] --rate=x --snapshot=file --fit --pipeline=auto|opengl|xrender|software
+    // --background-fps=N --cache=folder --tiled[=threads] --spin-wait, see ClockOptions
+    public static void main(String[] args) {
+        StartupMetrics metrics = new StartupMetrics();
+        ClockOptions options;
+        try {
+            options = ClockOptions.parse(args);
+            // Before the first AWT call, Java2D picks its pipeline once
+            RenderPipeline.select(options.getPipeline());
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        // Probe once, later starts reuse the decision until the requested pipeline changes
+        StartupCache cache = new StartupCache(options.getCacheFolder());
+        Properties probed = cache.readPipeline(options.getPipeline());
+        if (probed != null) {
+            RenderPipeline.restore(Boolean.parseBoolean(probed.getProperty("used")));
+            System.out.println(probed.getProperty("report") + " (cached)");
+        } else {
+            RenderPipeline pipeline = RenderPipeline.probe(new ClockParts(options.getTrain()));
+            System.out.println(pipeline);
+            try {
+                cache.writePipeline(options.getPipeline(), pipeline);
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+        SwingUtilities.invokeLater(() -> new PendulumClock(options, metrics));
+    }
+}
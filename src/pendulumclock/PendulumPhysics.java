@@ -0,0 +1,155 @@
+package pendulumclock;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Simulated pendulum and escapement of one clock, an alternative to the ideal motion in ClockEngine.
+// The pendulum ODE (gravity, damping and the escapement impulse) is integrated with semi-implicit Euler
+// at a fixed 10 kHz, independent of the frame rate. The scape gear is unlocked when the pendulum swings onto
+// the entry pallet, follows the pallet across that swing and drops one tooth when it locks again.
+// A rating nut trims the pendulum at every lock so the clock keeps time instead of drifting.
+public class PendulumPhysics {
+    public static final double STEP = 1.0 / 10_000;
+
+    // Positive on the side of the swing the scape gear turns during, where ClockEngine.MAX_ANGLE points
+    private static final double DIRECTION = Math.signum(ClockEngine.MAX_ANGLE);
+    private static final double AMPLITUDE = Math.abs(ClockEngine.MAX_ANGLE);
+    // One swing per second at full amplitude, the large angle period is longer by about A^2 / 16
+    private static final double NATURAL_FREQUENCY = 2 * Math.PI * (1 + AMPLITUDE * AMPLITUDE / 16);
+    private static final double DAMPING = 0.1;
+    // The pallet pushes while the pendulum is this close to the center
+    private static final double IMPULSE_WIDTH = 0.05;
+    // Enough push to replace what damping takes over a swing at full amplitude
+    private static final double IMPULSE = DAMPING * AMPLITUDE * AMPLITUDE * NATURAL_FREQUENCY * NATURAL_FREQUENCY
+            / (4 * IMPULSE_WIDTH);
+    // Fraction of the timing error per lock taken out by trimming the pendulum
+    private static final double RATING_GAIN = 0.1;
+    // Longer gaps are not worth integrating, the state is set to the ideal motion instead
+    private static final double MAX_CATCH_UP = 2.0;
+
+    private double time;
+    private double theta;
+    private double omega;
+    private double frequency;
+
+    // Teeth the scape gear has dropped, and whether the current one is riding the pallet
+    private double escapements;
+    private boolean engaged;
+    private long locks;
+
+    public PendulumPhysics(double t) {
+        reset(t);
+    }
+
+    public PendulumPhysics(PendulumPhysics other) {
+        time = other.time;
+        theta = other.theta;
+        omega = other.omega;
+        frequency = other.frequency;
+        escapements = other.escapements;
+        engaged = other.engaged;
+        locks = other.locks;
+    }
+
+    private PendulumPhysics() {
+    }
+
+    // Exact state, so a restored simulation continues step for step where this one was
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeDouble(time);
+        out.writeDouble(theta);
+        out.writeDouble(omega);
+        out.writeDouble(frequency);
+        out.writeDouble(escapements);
+        out.writeBoolean(engaged);
+        out.writeLong(locks);
+    }
+
+    public static PendulumPhysics readFrom(DataInput in) throws IOException {
+        PendulumPhysics physics = new PendulumPhysics();
+        physics.time = in.readDouble();
+        physics.theta = in.readDouble();
+        physics.omega = in.readDouble();
+        physics.frequency = in.readDouble();
+        physics.escapements = in.readDouble();
+        physics.engaged = in.readBoolean();
+        physics.locks = in.readLong();
+        return physics;
+    }
+
+    // Put the pendulum and scape gear where the ideal clock has them at time t, so seeking costs no steps
+    public void reset(double t) {
+        time = t;
+        theta = ClockEngine.pendulumAngle(t);
+        omega = ClockEngine.MAX_ANGLE * 2 * Math.PI * Math.cos(2 * Math.PI * t);
+        frequency = NATURAL_FREQUENCY;
+        double whole = Math.floor(t);
+        engaged = !ClockEngine.isTicked(t);
+        escapements = engaged ? whole : whole + 1;
+    }
+
+    // Integrate up to time t, far jumps and going backwards restart from the ideal state
+    public void advanceTo(double t) {
+        if (t < time - STEP || t - time > MAX_CATCH_UP) {
+            reset(t);
+            return;
+        }
+        while (time + STEP <= t) {
+            step();
+        }
+    }
+
+    private void step() {
+        double before = theta * DIRECTION;
+
+        double accel = -frequency * frequency * Math.sin(theta) - DAMPING * omega;
+        if (engaged && Math.abs(theta) < IMPULSE_WIDTH) {
+            accel += Math.copySign(IMPULSE, omega);
+        }
+        omega += STEP * accel;
+        theta += STEP * omega;
+        time += STEP;
+
+        double after = theta * DIRECTION;
+        if (!engaged && before <= 0 && after > 0) {
+            // Entry pallet lets the tooth go
+            engaged = true;
+        } else if (engaged && before > 0 && after <= 0) {
+            // Exit pallet catches the next tooth: the tick
+            engaged = false;
+            escapements += 1;
+            ++locks;
+            // Locks should fall on the half second, a late lock means the pendulum runs slow
+            double error = time - (escapements - 0.5);
+            frequency = NATURAL_FREQUENCY * (1 + RATING_GAIN * error);
+        }
+    }
+
+    public double getTime() {
+        return time;
+    }
+
+    public double getPendulumAngle() {
+        return theta;
+    }
+
+    // Teeth the scape gear has turned, like ClockEngine.escapementTime. While engaged the tooth follows the
+    // pallet, which is where the pendulum is along its swing
+    public double getEscapementTime() {
+        if (!engaged) {
+            return escapements;
+        }
+        double phase = Math.atan2(theta * DIRECTION, omega * DIRECTION / frequency);
+        return escapements + Math.min(1, Math.max(0, phase / Math.PI));
+    }
+
+    // True while the scape gear rests after a tick, like ClockEngine.isTicked
+    public boolean isLocked() {
+        return !engaged;
+    }
+
+    public long getLocks() {
+        return locks;
+    }
+}
@@ -0,0 +1,191 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+// Paces frames on a dedicated thread instead of the Swing timer
+public class RenderLoop implements Runnable {
+    // Pick the rate from the display and measured frame cost
+    public static final int ADAPTIVE = 0;
+    private static final int[] ADAPTIVE_RATES = {15, 30, 60, 120};
+    // No cap on the frame rate, see setCap
+    public static final int NO_CAP = -1;
+
+    private final ClockCanvas canvas;
+    // Receives the System.nanoTime() instant the next frame is expected on screen
+    private final LongConsumer update;
+    private final boolean adaptive;
+    private final int maxFps;
+    // Told about rate changes, may be null
+    private final FrameStats stats;
+
+    private volatile boolean running;
+    private Thread thread;
+    // At most this many frames a second while idle, 0 pauses the loop
+    private volatile int capFps = NO_CAP;
+    // Yield through the last millisecond before each frame for tighter pacing, at the cost of a busy core
+    private volatile boolean spinWait;
+
+    private volatile int fps;
+    // Smoothed cost of update, render and flip
+    private volatile double averageFrameNanos;
+    private volatile long frames;
+    private volatile long droppedFrames;
+
+    public RenderLoop(ClockCanvas canvas, LongConsumer update, int fps, FrameStats stats) {
+        this.canvas = canvas;
+        this.update = update;
+        this.stats = stats;
+        this.adaptive = fps == ADAPTIVE;
+        this.maxFps = adaptive ? displayRefreshRate(canvas) : fps;
+        this.fps = adaptive ? startRate(maxFps) : fps;
+    }
+
+    // Highest adaptive rate up to 60 fps the display can show
+    private static int startRate(int maxFps) {
+        int rate = ADAPTIVE_RATES[0];
+        for (int r : ADAPTIVE_RATES) {
+            if (r <= Math.min(60, maxFps)) {
+                rate = r;
+            }
+        }
+        return rate;
+    }
+
+    // The canvas must be showing, the buffer strategy needs a native peer
+    public void start() {
+        running = true;
+        thread = new Thread(this, "clock-render");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        LockSupport.unpark(thread);
+    }
+
+    // Slow the loop down to fps, pause it with 0 or lift the cap with NO_CAP
+    public void setCap(int fps) {
+        capFps = fps;
+        LockSupport.unpark(thread);
+    }
+
+    // Off by default, meant for latency measurements rather than a clock left running
+    public void setSpinWait(boolean spinWait) {
+        this.spinWait = spinWait;
+    }
+
+    public int getFps() {
+        return fps;
+    }
+
+    public double getAverageFrameNanos() {
+        return averageFrameNanos;
+    }
+
+    public long getFrames() {
+        return frames;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    @Override
+    public void run() {
+        long period = 1_000_000_000L / fps;
+        long deadline = System.nanoTime();
+        long expectedPeriod = period;
+        if (stats != null) {
+            stats.setExpectedPeriodNanos(period);
+        }
+
+        while (running) {
+            int cap = capFps;
+            if (cap == 0) {
+                LockSupport.park(this);
+                // Carry on from now, the pause is no run of dropped frames
+                deadline = System.nanoTime();
+                continue;
+            }
+            long framePeriod = cap > 0 ? Math.max(period, 1_000_000_000L / cap) : period;
+            if (framePeriod != expectedPeriod) {
+                expectedPeriod = framePeriod;
+                if (stats != null) {
+                    stats.setExpectedPeriodNanos(framePeriod);
+                }
+            }
+
+            long frameStart = System.nanoTime();
+
+            // Fell behind by whole frames: skip them instead of rendering a burst to catch up
+            long late = frameStart - deadline;
+            if (late > framePeriod) {
+                long missed = late / framePeriod;
+                droppedFrames += missed;
+                deadline += missed * framePeriod;
+            }
+
+            // Show the state for when the frame reaches the screen, not when drawing starts
+            update.accept(frameStart + (long) averageFrameNanos);
+            canvas.render();
+
+            long cost = System.nanoTime() - frameStart;
+            averageFrameNanos += (cost - averageFrameNanos) * 0.1;
+            frames++;
+
+            if (adaptive && frames % fps == 0) {
+                adapt();
+                period = 1_000_000_000L / fps;
+            }
+
+            deadline += framePeriod;
+            waitUntil(deadline);
+        }
+    }
+
+    // Once a second, step the rate down when frames eat most of their budget and up when they are cheap
+    private void adapt() {
+        double budget = 1_000_000_000.0 / fps;
+        for (int i = 0; i < ADAPTIVE_RATES.length; ++i) {
+            if (ADAPTIVE_RATES[i] != fps) {
+                continue;
+            }
+            if (averageFrameNanos > 0.9 * budget && i > 0) {
+                fps = ADAPTIVE_RATES[i - 1];
+            } else if (averageFrameNanos < 0.4 * budget && i + 1 < ADAPTIVE_RATES.length
+                    && ADAPTIVE_RATES[i + 1] <= maxFps) {
+                fps = ADAPTIVE_RATES[i + 1];
+            }
+            return;
+        }
+    }
+
+    // Park until the deadline. With spinWait park for most of the wait and yield through the last millisecond,
+    // which parkNanos cannot hit exactly
+    private void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (!spinWait) {
+                LockSupport.parkNanos(remaining);
+            } else if (remaining > 2_000_000) {
+                LockSupport.parkNanos(remaining - 1_000_000);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private static int displayRefreshRate(Component component) {
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        if (gc != null) {
+            int rate = gc.getDevice().getDisplayMode().getRefreshRate();
+            if (rate != DisplayMode.REFRESH_RATE_UNKNOWN) {
+                return rate;
+            }
+        }
+        return 60;
+    }
+}
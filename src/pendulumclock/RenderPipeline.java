@@ -0,0 +1,223 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+// Which Java2D pipeline draws the clock. Java2D reads its pipeline properties once, when AWT starts, so
+// select has to run before anything else touches AWT. probe then checks what Java2D actually gave us,
+// times a few full frames on it and on plain software images, and keeps the clock on software buffers
+// with its cached sprites when acceleration is missing or slower than doing without.
+public class RenderPipeline {
+    public static final String AUTO = "auto";
+    public static final String OPENGL = "opengl";
+    public static final String XRENDER = "xrender";
+    public static final String SOFTWARE = "software";
+
+    private static final int PROBE_SIZE = 1000;
+    private static final int PROBE_WARMUP = 3;
+    private static final int PROBE_FRAMES = 10;
+    // How much slower than software an accelerated pipeline may be before we stop using it
+    private static final double SLOWER_TOLERANCE = 1.25;
+
+    // Until probed, images are created the way they always were
+    private static volatile boolean accelerated = true;
+
+    private final String name;
+    private final boolean volatileAccelerated;
+    private final boolean used;
+    private final double frameMillis;
+    private final double softwareMillis;
+
+    private RenderPipeline(String name, boolean volatileAccelerated, boolean used, double frameMillis,
+                           double softwareMillis) {
+        this.name = name;
+        this.volatileAccelerated = volatileAccelerated;
+        this.used = used;
+        this.frameMillis = frameMillis;
+        this.softwareMillis = softwareMillis;
+    }
+
+    // Ask Java2D for a pipeline. Properties given on the command line with -D are left as they are
+    public static void select(String pipeline) {
+        switch (pipeline) {
+            case AUTO:
+                // OpenGL where the driver has it, XRender otherwise, Java2D walks down that chain by itself
+                setDefault("sun.java2d.opengl", "true");
+                setDefault("sun.java2d.xrender", "true");
+                break;
+            case OPENGL:
+                setDefault("sun.java2d.opengl", "true");
+                break;
+            case XRENDER:
+                setDefault("sun.java2d.opengl", "false");
+                setDefault("sun.java2d.xrender", "true");
+                break;
+            case SOFTWARE:
+                setDefault("sun.java2d.opengl", "false");
+                setDefault("sun.java2d.xrender", "false");
+                setDefault("sun.java2d.d3d", "false");
+                setDefault("sun.java2d.metal", "false");
+                useSoftware();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown pipeline " + pipeline);
+        }
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+
+    // Swing back buffers, page flipping and sprites in plain memory. The Swing property is read when the
+    // RepaintManager starts, so like select this has to happen before the first window is built
+    private static void useSoftware() {
+        accelerated = false;
+        setDefault("swing.volatileImageBufferEnabled", "false");
+    }
+
+    // Apply a decision an earlier probe made, instead of probing again
+    public static void restore(boolean used) {
+        if (!used) {
+            useSoftware();
+        }
+    }
+
+    // False once the clock should keep its images and buffers out of video memory
+    public static boolean isAccelerated() {
+        return accelerated;
+    }
+
+    // Check and time the pipeline Java2D is running on by drawing the given parts, then decide whether to use it
+    public static RenderPipeline probe(ClockParts parts) {
+        if (GraphicsEnvironment.isHeadless()) {
+            useSoftware();
+            double softwareMillis = timeSoftware(parts);
+            return new RenderPipeline("headless", false, false, softwareMillis, softwareMillis);
+        }
+
+        GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        String name = getName(gc);
+        if (!accelerated) {
+            // Asked for software, nothing to find out
+            double softwareMillis = timeSoftware(parts);
+            return new RenderPipeline(name, false, false, softwareMillis, softwareMillis);
+        }
+
+        VolatileImage image = gc.createCompatibleVolatileImage(PROBE_SIZE, PROBE_SIZE);
+        double frameMillis = timeFrames(parts, image, gc);
+        boolean volatileAccelerated = image.getCapabilities().isAccelerated();
+        image.flush();
+
+        // The same frames the way the fallback draws them, sprites in plain memory included
+        accelerated = false;
+        SpriteCache.clear();
+        double softwareMillis = timeSoftware(parts);
+
+        boolean used = volatileAccelerated && frameMillis <= softwareMillis * SLOWER_TOLERANCE;
+        if (used) {
+            accelerated = true;
+            SpriteCache.clear();
+        } else {
+            useSoftware();
+        }
+        return new RenderPipeline(name, volatileAccelerated, used, frameMillis, softwareMillis);
+    }
+
+    // The JDK and screen setup a probe result holds for: the runtime version, and each screen's configuration type,
+    // id and display mode, or headless
+    public static String getEnvironment() {
+        StringBuilder environment = new StringBuilder(System.getProperty("java.vendor")).append(' ')
+                .append(System.getProperty("java.vm.version"));
+        if (GraphicsEnvironment.isHeadless()) {
+            return environment.append(", headless").toString();
+        }
+        for (GraphicsDevice device : GraphicsEnvironment.getLocalGraphicsEnvironment().getScreenDevices()) {
+            DisplayMode mode = device.getDisplayMode();
+            environment.append(", ").append(device.getDefaultConfiguration().getClass().getSimpleName())
+                    .append(' ').append(device.getIDstring()).append(' ').append(mode.getWidth()).append('x')
+                    .append(mode.getHeight()).append('@').append(mode.getRefreshRate());
+        }
+        return environment.toString();
+    }
+
+    private static double timeSoftware(ClockParts parts) {
+        return timeFrames(parts, new BufferedImage(PROBE_SIZE, PROBE_SIZE, BufferedImage.TYPE_INT_RGB), null);
+    }
+
+    // Milliseconds per full frame of the scene at a few different times, after a warmup
+    private static double timeFrames(ClockParts parts, Image target, GraphicsConfiguration gc) {
+        Rectangle clip = new Rectangle(0, 0, PROBE_SIZE, PROBE_SIZE);
+        Color background = Color.LIGHT_GRAY;
+        double t = 10 * 3600 + 10 * 60;
+        long start = 0;
+        for (int frame = 0; frame < PROBE_WARMUP + PROBE_FRAMES; ++frame) {
+            if (frame == PROBE_WARMUP) {
+                start = System.nanoTime();
+            }
+            if (target instanceof VolatileImage) {
+                ((VolatileImage) target).validate(gc);
+            }
+            parts.update(t + frame / 60.0);
+            Graphics2D g2d = (Graphics2D) target.getGraphics();
+            parts.getScene().paint(g2d, clip, background);
+            g2d.dispose();
+        }
+        if (target instanceof VolatileImage) {
+            // Accelerated pipelines queue their work, wait for it by reading the result back once
+            ((VolatileImage) target).getSnapshot().flush();
+        }
+        return (System.nanoTime() - start) / 1e6 / PROBE_FRAMES;
+    }
+
+    private static String getName(GraphicsConfiguration gc) {
+        String type = gc.getClass().getSimpleName();
+        if (type.startsWith("GLX") || type.startsWith("WGL") || type.startsWith("CGL")) {
+            return "OpenGL";
+        } else if (type.startsWith("XR")) {
+            return "XRender";
+        } else if (type.startsWith("D3D")) {
+            return "Direct3D";
+        } else if (type.startsWith("MTL")) {
+            return "Metal";
+        } else if (type.startsWith("X11")) {
+            return "X11";
+        } else if (type.startsWith("Win32")) {
+            return "GDI";
+        }
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Whether the clock draws through the pipeline's accelerated images
+    public boolean isUsed() {
+        return used;
+    }
+
+    public double getFrameMillis() {
+        return frameMillis;
+    }
+
+    public double getSoftwareMillis() {
+        return softwareMillis;
+    }
+
+    @Override
+    public String toString() {
+        if (used) {
+            return String.format("Java2D %s, accelerated, %.2f ms/frame (software %.2f ms)",
+                    name, frameMillis, softwareMillis);
+        }
+        if (volatileAccelerated) {
+            return String.format("Java2D %s, accelerated but slower (%.2f ms/frame), software %.2f ms/frame",
+                    name, frameMillis, softwareMillis);
+        }
+        return String.format("Java2D %s, not accelerated, software %.2f ms/frame", name, softwareMillis);
+    }
+}
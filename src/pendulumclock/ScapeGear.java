@@ -0,0 +1,179 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+
+public class ScapeGear implements ClockPart {
+    private static final Color ARMS_COLOR = Color.decode("#d0ab7a");
+    private static final Color GEAR_COLOR = Color.decode("#8e582c");
+
+    private final int centerX, centerY;
+    private final int outerTeeth, innerTeeth;
+    private final int outerRadius, innerRadius;
+    private final int arms, armsStroke;
+    private final int internalGearRadius;
+    // Geometry in gear coordinates, one fill per color
+    private final Path2D armsOutline, gearOutline;
+
+    // Static geometry is rendered once and only rotated per frame
+    private final String spriteKey;
+    private final int spriteSize;
+    private BufferedImage sprite;
+    // Scale asked for by the scene, and the one the sprite was rendered at
+    private volatile double spriteScale = 1;
+    private double renderedScale;
+    private final Rectangle bounds;
+
+    private double angle;
+    private final double angleStep;
+    private long angleIndex;
+    private boolean moved;
+
+    public ScapeGear(int centerX, int centerY,
+                     int outerTeeth, int innerTeeth,
+                     int outerRadius, int innerRadius,
+                     int arms, int armsStroke, int internalGearRadius) {
+
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.outerTeeth = outerTeeth;
+        this.innerTeeth = innerTeeth;
+        this.outerRadius = outerRadius;
+        this.innerRadius = innerRadius;
+        this.arms = arms;
+        this.armsStroke = armsStroke;
+        this.internalGearRadius = internalGearRadius;
+        this.angle = 0.0;
+
+        this.spriteKey = "ScapeGear:" + outerTeeth + ":" + innerTeeth + ":" + outerRadius + ":" + innerRadius
+                + ":" + arms + ":" + armsStroke + ":" + internalGearRadius;
+        this.spriteSize = 2 * ((int) Math.ceil(Math.hypot(20, outerRadius + 15)) + 2);
+        this.bounds = new Rectangle(centerX - spriteSize / 2, centerY - spriteSize / 2, spriteSize, spriteSize);
+        // A quarter of a pixel at the outermost tooth tip
+        this.angleStep = 0.25 / (spriteSize / 2.0);
+        this.moved = true;
+
+        this.armsOutline = createArmsOutline();
+        this.gearOutline = createGearOutline();
+    }
+
+    public void setAngle(double angle) {
+        // Ignore changes too small to move the rim by a visible amount
+        long index = Math.round(angle / angleStep);
+        if (index != angleIndex) {
+            angleIndex = index;
+            this.angle = angle;
+            moved = true;
+        }
+    }
+
+    public int getOuterTeeth() {
+        return outerTeeth;
+    }
+
+    @Override
+    public Rectangle getPartBounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean takeDirtyRegion(Rectangle dirty) {
+        if (!moved) {
+            return false;
+        }
+        // Any rotation changes the whole gear disc
+        moved = false;
+        dirty.setBounds(bounds);
+        return true;
+    }
+
+    @Override
+    public void paintPart(Graphics2D g2d) {
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        // The tiles of a TiledRenderer paint the part from several threads at once, one of them swaps the sprite
+        BufferedImage image;
+        double scale;
+        synchronized (this) {
+            if (sprite == null || renderedScale != spriteScale) {
+                renderedScale = spriteScale;
+                sprite = getSprite(renderedScale);
+            }
+            image = sprite;
+            scale = renderedScale;
+        }
+
+        // Blit the cached gear rotated around its center
+        AffineTransform transform = AffineTransform.getTranslateInstance(centerX, centerY);
+        transform.rotate(angle);
+        transform.scale(1 / scale, 1 / scale);
+        transform.translate(-image.getWidth() / 2, -image.getHeight() / 2);
+        g2d.drawImage(image, transform, null);
+    }
+
+    @Override
+    public void setSpriteScale(double scale) {
+        spriteScale = scale;
+    }
+
+    // Gear geometry rendered for scale device pixels per scene unit
+    private BufferedImage getSprite(double scale) {
+        return SpriteCache.get(spriteKey + "@" + scale, (int) Math.ceil(spriteSize * scale), g -> {
+            g.scale(scale, scale);
+            paintGear(g);
+        });
+    }
+
+    // Draw the static gear geometry around the origin, unrotated
+    void paintGear(Graphics2D g2d) {
+        g2d.setColor(ARMS_COLOR);
+        g2d.fill(armsOutline);
+        g2d.setColor(GEAR_COLOR);
+        g2d.fill(gearOutline);
+    }
+
+    private Path2D createArmsOutline() {
+        Path2D path = GearOutline.create();
+        int left = -armsStroke / 2;
+        GearOutline.addRing(path, new double[]{left, left + armsStroke, left + armsStroke, left},
+                new double[]{0, 0, outerRadius, outerRadius}, arms, 0);
+        return path;
+    }
+
+    // Outer teeth, ring, inner teeth and hub, all in the gear color
+    private Path2D createGearOutline() {
+        Path2D path = GearOutline.create();
+        GearOutline.addRing(path, new double[]{0, -10, -20},
+                new double[]{-outerRadius, -outerRadius, -outerRadius - 15}, outerTeeth, 0);
+        GearOutline.addCircle(path, outerRadius);
+        GearOutline.cutCircle(path, innerRadius);
+        GearOutline.addRing(path, new double[]{-4, 4, 4, -4},
+                new double[]{-internalGearRadius, -internalGearRadius, -internalGearRadius - 8,
+                        -internalGearRadius - 8}, innerTeeth, 0);
+        GearOutline.addCircle(path, internalGearRadius);
+        return path;
+    }
+
+    // For testing alone
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("ScapeGear");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setSize(400, 400);
+
+            ScapeGear gear = new ScapeGear(
+                    200, 200, 30, 15,
+                    150, 140, 6, 6, 50);
+            ClockFace face = new ClockFace();
+            face.addPart(gear);
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.add(face, BorderLayout.CENTER);
+
+            frame.add(panel);
+            frame.setVisible(true);
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.geom.AffineTransform;
+
+// Maps the 1000x1000 clock layout onto a component of any size and device scale. With fit off the layout is drawn
+// one to one as it always was. Either way the parts' cached images are re-rendered for the device pixels they
+// cover, but only once resizing or a move to another screen has paused, not on every intermediate size.
+class SceneFit {
+    private static final int LAYOUT = 1000;
+    private static final int SETTLE_MILLIS = 250;
+
+    private final Component component;
+    private final ClockScene scene;
+    private final boolean fit;
+    private final Timer settle;
+
+    // Read while painting, possibly off the event thread
+    private volatile double scale = 1;
+    private volatile double offsetX, offsetY;
+    private double spriteScale = 1;
+
+    SceneFit(Component component, ClockScene scene, boolean fit) {
+        this.component = component;
+        this.scene = scene;
+        this.fit = fit;
+        this.settle = new Timer(SETTLE_MILLIS, e -> settle());
+        settle.setRepeats(false);
+
+        component.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                update();
+            }
+        });
+        component.addPropertyChangeListener("graphicsConfiguration", e -> update());
+    }
+
+    // Follow the new size right away, sprites catch up once it stops changing
+    private void update() {
+        if (fit) {
+            AffineTransform transform = fitTransform(component.getWidth(), component.getHeight());
+            offsetX = transform.getTranslateX();
+            offsetY = transform.getTranslateY();
+            scale = transform.getScaleX();
+        }
+        settle.restart();
+    }
+
+    // Scene to pixels for the layout scaled uniformly into width x height and centered, for any drawing surface
+    static AffineTransform fitTransform(double width, double height) {
+        double s = Math.max(Math.min(width, height) / LAYOUT, 0.01);
+        AffineTransform transform = AffineTransform.getTranslateInstance((width - LAYOUT * s) / 2,
+                (height - LAYOUT * s) / 2);
+        transform.scale(s, s);
+        return transform;
+    }
+
+    private void settle() {
+        double deviceScale = getDeviceScale();
+        if (scale * deviceScale != spriteScale) {
+            spriteScale = scale * deviceScale;
+            scene.setSpriteScale(spriteScale);
+            component.repaint();
+        }
+    }
+
+    // Device pixels per component pixel on the screen the component is on
+    double getDeviceScale() {
+        GraphicsConfiguration gc = component.getGraphicsConfiguration();
+        return gc != null ? gc.getDefaultTransform().getScaleX() : 1;
+    }
+
+    // Set out to map the scene to device pixels, the fit followed by the device scale
+    void getDeviceTransform(AffineTransform out) {
+        double deviceScale = getDeviceScale();
+        out.setToScale(deviceScale, deviceScale);
+        if (fit) {
+            out.translate(offsetX, offsetY);
+            out.scale(scale, scale);
+        }
+    }
+
+    // The scene only clears the layout area, a fitted layout leaves bands around it
+    void clearMargins(Graphics2D g2d, Rectangle clip, Color background) {
+        if (fit) {
+            g2d.setColor(background);
+            g2d.fillRect(clip.x, clip.y, clip.width, clip.height);
+        }
+    }
+
+    // Switch g2d from component to scene coordinates, undone by restore
+    void apply(Graphics2D g2d) {
+        if (fit) {
+            g2d.translate(offsetX, offsetY);
+            g2d.scale(scale, scale);
+        }
+    }
+
+    void restore(Graphics2D g2d) {
+        if (fit) {
+            g2d.scale(1 / scale, 1 / scale);
+            g2d.translate(-offsetX, -offsetY);
+        }
+    }
+
+    // Scene rectangle to the component pixels it covers, rounded outwards
+    void toComponent(Rectangle r, Rectangle out) {
+        if (!fit) {
+            out.setBounds(r);
+            return;
+        }
+        int x0 = (int) Math.floor(offsetX + r.x * scale);
+        int y0 = (int) Math.floor(offsetY + r.y * scale);
+        int x1 = (int) Math.ceil(offsetX + (r.x + r.width) * scale);
+        int y1 = (int) Math.ceil(offsetY + (r.y + r.height) * scale);
+        out.setBounds(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    // Component rectangle to the scene area it shows, rounded outwards
+    void toScene(Rectangle r, Rectangle out) {
+        if (!fit) {
+            out.setBounds(r);
+            return;
+        }
+        int x0 = (int) Math.floor((r.x - offsetX) / scale);
+        int y0 = (int) Math.floor((r.y - offsetY) / scale);
+        int x1 = (int) Math.ceil((r.x + r.width - offsetX) / scale);
+        int y1 = (int) Math.ceil((r.y + r.height - offsetY) / scale);
+        out.setBounds(x0, y0, x1 - x0, y1 - y0);
+    }
+}
@@ -0,0 +1,72 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Pre-rendered images of the static part geometry, shared by every part with the same key
+public class SpriteCache {
+    // Parts keep the sprites they draw, the cache only shares them. Once over budget the least recently
+    // requested sprites are forgotten, typically those of a scale no longer in use
+    private static final long MAX_BYTES = 64L << 20;
+    private static final Map<String, BufferedImage> sprites = new LinkedHashMap<>(16, 0.75f, true);
+    private static long bytes;
+
+    private SpriteCache() {
+    }
+
+    // Returns the sprite for the key, rendering it once with the painter centered in a size x size image
+    public static BufferedImage get(String key, int size, Consumer<Graphics2D> painter) {
+        return get(key, size, size, size / 2, size / 2, painter);
+    }
+
+    // Same with the painter's origin at the top left of a width x height image
+    public static BufferedImage get(String key, int width, int height, Consumer<Graphics2D> painter) {
+        return get(key, width, height, 0, 0, painter);
+    }
+
+    private static synchronized BufferedImage get(String key, int width, int height, int originX, int originY,
+                                                  Consumer<Graphics2D> painter) {
+        BufferedImage sprite = sprites.get(key);
+        if (sprite == null) {
+            sprite = createImage(width, height);
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.translate(originX, originY);
+            painter.accept(g2d);
+            g2d.dispose();
+            sprites.put(key, sprite);
+            bytes += bytes(sprite);
+
+            Iterator<BufferedImage> eldest = sprites.values().iterator();
+            while (bytes > MAX_BYTES && sprites.size() > 1) {
+                bytes -= bytes(eldest.next());
+                eldest.remove();
+            }
+        }
+        return sprite;
+    }
+
+    private static long bytes(BufferedImage sprite) {
+        return 4L * sprite.getWidth() * sprite.getHeight();
+    }
+
+    public static synchronized void clear() {
+        sprites.clear();
+        bytes = 0;
+    }
+
+    // Compatible translucent image so Java2D can keep it cached in video memory, unless RenderPipeline found
+    // the accelerated pipeline missing or not worth it
+    public static BufferedImage createImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless() && RenderPipeline.isAccelerated()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+}
@@ -0,0 +1,143 @@
+package pendulumclock;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+// Files one run leaves for the next to start faster: a steady frame of the clock, shown until the first live
+// one, and what RenderPipeline found out about the pipeline, so it is not probed on every start.
+// The frame is plain deflated RGB, which reads back without waking up ImageIO
+public class StartupCache {
+    private static final int FRAME_MAGIC = 0x50434646;
+    private static final String FRAME_FILE = "first-frame.bin";
+    private static final String PIPELINE_FILE = "pipeline.properties";
+
+    private final Path folder;
+
+    public StartupCache(Path folder) {
+        this.folder = folder;
+    }
+
+    // The user's own cache folder, $XDG_CACHE_HOME or ~/.cache, which other users cannot write into
+    public static Path defaultFolder() {
+        String cacheHome = System.getenv("XDG_CACHE_HOME");
+        if (cacheHome != null && Path.of(cacheHome).isAbsolute()) {
+            return Path.of(cacheHome, "pendulumclock");
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", "pendulumclock");
+    }
+
+    // The last frame written, null if there is none or it cannot be read
+    public BufferedImage readFrame() {
+        Path file = folder.resolve(FRAME_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new BufferedInputStream(Files.newInputStream(file))))) {
+            if (in.readInt() != FRAME_MAGIC) {
+                return null;
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            byte[] row = new byte[3 * width];
+            for (int y = 0; y < height; ++y) {
+                in.readFully(row);
+                for (int x = 0, i = 0; x < width; ++x, i += 3) {
+                    pixels[y * width + x] = (row[i] & 0xff) << 16 | (row[i + 1] & 0xff) << 8 | (row[i + 2] & 0xff);
+                }
+            }
+            return image;
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            return null;
+        }
+    }
+
+    // Replace the cached frame, readers see either the old file or the whole new one
+    public void writeFrame(BufferedImage image) throws IOException {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        write(FRAME_FILE, raw -> {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            DeflaterOutputStream deflated = new DeflaterOutputStream(raw, deflater);
+            DataOutputStream out = new DataOutputStream(deflated);
+            out.writeInt(FRAME_MAGIC);
+            out.writeInt(width);
+            out.writeInt(height);
+            byte[] row = new byte[3 * width];
+            for (int y = 0; y < height; ++y) {
+                for (int x = 0, i = 0; x < width; ++x, i += 3) {
+                    int rgb = image.getRGB(x, y);
+                    row[i] = (byte) (rgb >> 16);
+                    row[i + 1] = (byte) (rgb >> 8);
+                    row[i + 2] = (byte) rgb;
+                }
+                out.write(row);
+            }
+            out.flush();
+            deflated.finish();
+            deflater.end();
+        });
+    }
+
+    // The pipeline decision stored for this requested pipeline, null when it has to be probed. A decision made
+    // on another JDK or another screen setup is probed again, see RenderPipeline.getEnvironment
+    public Properties readPipeline(String requested) {
+        Path file = folder.resolve(PIPELINE_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            return null;
+        }
+        boolean same = requested.equals(properties.getProperty("requested"))
+                && RenderPipeline.getEnvironment().equals(properties.getProperty("environment"));
+        return same ? properties : null;
+    }
+
+    public void writePipeline(String requested, RenderPipeline pipeline) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("requested", requested);
+        properties.setProperty("environment", RenderPipeline.getEnvironment());
+        properties.setProperty("used", Boolean.toString(pipeline.isUsed()));
+        properties.setProperty("report", pipeline.toString());
+        write(PIPELINE_FILE, out -> properties.store(out, "RenderPipeline probe result, delete to probe again"));
+    }
+
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private void write(String name, Writer writer) throws IOException {
+        Files.createDirectories(folder);
+        Path temp = Files.createTempFile(folder, name, ".tmp");
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(out);
+            }
+            Files.move(temp, folder.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
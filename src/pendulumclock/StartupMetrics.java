@@ -0,0 +1,67 @@
+package pendulumclock;
+
+import java.time.Duration;
+import java.time.Instant;
+
+// Milestones of one start, in milliseconds since the JVM was launched: the first picture in the window,
+// the first live frame, and steady state, the start of the first long run of frames that all came on time
+public class StartupMetrics {
+    private static final int STEADY_FRAMES = 60;
+
+    // System.nanoTime() at the moment the process started
+    private final long originNanos;
+    private volatile long firstPaintNanos;
+    private volatile boolean cachedFrame;
+    private long liveFrameNanos;
+    private long lastFrameNanos;
+    private long runStartNanos;
+    private int onTime;
+    private boolean steady;
+
+    public StartupMetrics() {
+        long now = System.nanoTime();
+        long uptime = ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toNanos())
+                .orElse(0L);
+        originNanos = now - uptime;
+    }
+
+    // The window showed something for the first time, the cached frame or an empty face
+    public void markFirstPaint(boolean cached) {
+        if (firstPaintNanos == 0) {
+            cachedFrame = cached;
+            firstPaintNanos = System.nanoTime();
+        }
+    }
+
+    // Call once per live frame from the thread that updates the parts. True once, on reaching steady state
+    public boolean frame(long periodNanos) {
+        if (steady) {
+            return false;
+        }
+        long now = System.nanoTime();
+        if (liveFrameNanos == 0) {
+            liveFrameNanos = now;
+        } else if ((now - lastFrameNanos) * 2 <= periodNanos * 3) {
+            if (onTime++ == 0) {
+                runStartNanos = lastFrameNanos;
+            }
+        } else {
+            onTime = 0;
+        }
+        lastFrameNanos = now;
+        steady = onTime >= STEADY_FRAMES;
+        return steady;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("startup: %s %.0f ms, first live frame %.0f ms, steady %.0f ms",
+                cachedFrame ? "cached frame" : "empty window", millis(firstPaintNanos), millis(liveFrameNanos),
+                millis(runStartNanos));
+    }
+
+    private double millis(long nanos) {
+        return nanos == 0 ? Double.NaN : (nanos - originNanos) / 1e6;
+    }
+}
@@ -0,0 +1,45 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Stand-in for the clock while its parts get ready: the frame the last run cached, drawn where the live
+// clock will appear, or just the background on a first run
+class StartupView extends JComponent {
+    private static final int LAYOUT = 1000;
+
+    private final BufferedImage frame;
+    private final boolean fit;
+    private final StartupMetrics metrics;
+
+    StartupView(BufferedImage frame, boolean fit, StartupMetrics metrics) {
+        this.frame = frame;
+        this.fit = fit;
+        this.metrics = metrics;
+        setOpaque(true);
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(LAYOUT, LAYOUT);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+        if (frame != null) {
+            if (fit) {
+                double scale = Math.min(getWidth(), getHeight()) / (double) LAYOUT;
+                int size = (int) Math.round(LAYOUT * scale);
+                ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.drawImage(frame, (getWidth() - size) / 2, (getHeight() - size) / 2, size, size, null);
+            } else {
+                g.drawImage(frame, 0, 0, null);
+            }
+        }
+        metrics.markFirstPaint(frame != null);
+    }
+}
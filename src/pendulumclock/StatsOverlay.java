@@ -0,0 +1,75 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Frame metrics panel next to the digital time, toggled on and off
+public class StatsOverlay implements ClockPart {
+    private final FrameStats stats;
+    private final Rectangle bounds;
+    private final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+    private final Color background = new Color(255, 255, 255, 210);
+
+    private volatile boolean visible;
+    private boolean shown;
+    private long shownWindow = -1;
+
+    // At least height tall, taller when the summary has more lines than fit
+    public StatsOverlay(FrameStats stats, int x, int y, int width, int height) {
+        this.stats = stats;
+        // Measured the way paintPart lays the lines out, baselines one line height apart
+        Graphics2D scratch = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        FontMetrics metrics = scratch.getFontMetrics(font);
+        scratch.dispose();
+        int textHeight = stats.getSummaryLines() * metrics.getHeight() + metrics.getDescent();
+        this.bounds = new Rectangle(x, y, width, Math.max(height, textHeight));
+    }
+
+    public void toggle() {
+        visible = !visible;
+    }
+
+    @Override
+    public Rectangle getPartBounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean takeDirtyRegion(Rectangle dirty) {
+        // Changes when toggled and whenever a new summary is ready
+        long window = stats.getWindowCount();
+        if (visible == shown && (!visible || window == shownWindow)) {
+            return false;
+        }
+        shown = visible;
+        shownWindow = window;
+        dirty.setBounds(bounds);
+        return true;
+    }
+
+    @Override
+    public void paintPart(Graphics2D g2d) {
+        if (!visible) {
+            return;
+        }
+        g2d.setColor(background);
+        g2d.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+
+        // Nothing outside the bounds, which is all a hidden overlay clears
+        Shape clip = g2d.getClip();
+        g2d.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g2d.setFont(font);
+        g2d.setColor(Color.DARK_GRAY);
+        int lineHeight = g2d.getFontMetrics().getHeight();
+        int y = bounds.y + lineHeight;
+        String[] lines = stats.getSummary();
+        if (lines.length == 0) {
+            g2d.drawString("collecting...", bounds.x + 6, y);
+        }
+        for (String line : lines) {
+            g2d.drawString(line, bounds.x + 6, y);
+            y += lineHeight;
+        }
+        g2d.setClip(clip);
+    }
+}
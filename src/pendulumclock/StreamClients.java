@@ -0,0 +1,166 @@
+package pendulumclock;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Loopback test client for FrameServer: many MJPEG streams read on one selector thread, counting the frames
+// each one receives, the way a room full of browsers would load the server
+public class StreamClients {
+    private static final byte[] BOUNDARY = "--frame\r\n".getBytes(StandardCharsets.US_ASCII);
+    // Longest proper prefix of BOUNDARY that is also a suffix of its first i + 1 bytes
+    private static final int[] FALLBACK = fallback(BOUNDARY);
+
+    private static final class Stream {
+        int matched;
+        long frames;
+    }
+
+    private final Selector selector;
+    private final Thread thread;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final AtomicLong frames = new AtomicLong();
+    private volatile boolean running = true;
+    private volatile int open;
+
+    // Connect count streams to the server and start reading
+    public StreamClients(InetSocketAddress server, int count) throws IOException {
+        selector = Selector.open();
+        byte[] request = ("GET /stream HTTP/1.1\r\nHost: " + server.getHostString() + "\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII);
+        for (int i = 0; i < count; ++i) {
+            SocketChannel channel = SocketChannel.open(server);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.write(ByteBuffer.wrap(request));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new Stream());
+        }
+        open = count;
+        thread = new Thread(this::read, "stream-clients");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Frames received by all streams together
+    public long getFrames() {
+        return frames.get();
+    }
+
+    // Streams the server has not closed
+    public int getOpen() {
+        return open;
+    }
+
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()) {
+            key.channel().close();
+        }
+        selector.close();
+    }
+
+    private void read() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.out.println(e.getMessage());
+                return;
+            }
+            Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+            while (selected.hasNext()) {
+                SelectionKey key = selected.next();
+                selected.remove();
+                Stream stream = (Stream) key.attachment();
+                try {
+                    buffer.clear();
+                    int n = ((SocketChannel) key.channel()).read(buffer);
+                    if (n < 0) {
+                        key.cancel();
+                        key.channel().close();
+                        open--;
+                        continue;
+                    }
+                    count(stream, n);
+                } catch (IOException e) {
+                    key.cancel();
+                    open--;
+                }
+            }
+        }
+    }
+
+    // Find boundary lines in what was just read, carrying a partial match over to the next read
+    private void count(Stream stream, int n) {
+        int matched = stream.matched;
+        for (int i = 0; i < n; ++i) {
+            byte b = buffer.get(i);
+            while (matched > 0 && BOUNDARY[matched] != b) {
+                matched = FALLBACK[matched - 1];
+            }
+            if (BOUNDARY[matched] == b) {
+                matched++;
+            }
+            if (matched == BOUNDARY.length) {
+                stream.frames++;
+                frames.incrementAndGet();
+                matched = FALLBACK[matched - 1];
+            }
+        }
+        stream.matched = matched;
+    }
+
+    private static int[] fallback(byte[] pattern) {
+        int[] table = new int[pattern.length];
+        for (int i = 1, k = 0; i < pattern.length; ++i) {
+            while (k > 0 && pattern[i] != pattern[k]) {
+                k = table[k - 1];
+            }
+            if (pattern[i] == pattern[k]) {
+                k++;
+            }
+            table[i] = k;
+        }
+        return table;
+    }
+
+    // --host=localhost --port=8080 --clients=100 --seconds=10
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String host = "localhost";
+        int port = 8080;
+        int count = 100;
+        double seconds = 10;
+        for (String arg : args) {
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--host=")) {
+                host = value;
+            } else if (arg.startsWith("--port=")) {
+                port = Integer.parseInt(value);
+            } else if (arg.startsWith("--clients=")) {
+                count = Integer.parseInt(value);
+            } else if (arg.startsWith("--seconds=")) {
+                seconds = Double.parseDouble(value);
+            }
+        }
+
+        StreamClients clients = new StreamClients(new InetSocketAddress(host, port), count);
+        Thread.sleep((long) (seconds * 1000));
+        long frames = clients.getFrames();
+        System.out.printf("%d clients, %d still open: %d frames, %.1f fps per client%n",
+                count, clients.getOpen(), frames, frames / seconds / count);
+        clients.close();
+    }
+}
@@ -0,0 +1,48 @@
+package pendulumclock;
+
+import java.awt.*;
+
+// Fixed line of text centered on a point
+public class TextLabel implements ClockPart {
+    private final String text;
+    private final int centerX, baselineY;
+    private final Font font;
+    private final Color color;
+    private final Rectangle bounds;
+    private boolean moved;
+
+    public TextLabel(String text, int centerX, int baselineY, Font font, Color color) {
+        this.text = text;
+        this.centerX = centerX;
+        this.baselineY = baselineY;
+        this.font = font;
+        this.color = color;
+        // Generous box, the exact width is only known once drawing with real font metrics
+        int size = font.getSize();
+        int halfWidth = text.length() * size / 2 + size;
+        this.bounds = new Rectangle(centerX - halfWidth, baselineY - size * 5 / 4, 2 * halfWidth, size * 3 / 2);
+        this.moved = true;
+    }
+
+    @Override
+    public Rectangle getPartBounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean takeDirtyRegion(Rectangle dirty) {
+        if (!moved) {
+            return false;
+        }
+        moved = false;
+        dirty.setBounds(bounds);
+        return true;
+    }
+
+    @Override
+    public void paintPart(Graphics2D g2d) {
+        g2d.setFont(font);
+        g2d.setColor(color);
+        g2d.drawString(text, centerX - g2d.getFontMetrics().stringWidth(text) / 2, baselineY);
+    }
+}
@@ -0,0 +1,241 @@
+package pendulumclock;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.DataLine;
+import javax.sound.sampled.SourceDataLine;
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongToDoubleFunction;
+
+// Plays the tick from a sample decoded once, through one line that stays open
+public class TickPlayer {
+    private byte[] pcm;
+    private SourceDataLine line;
+    private final Thread audioThread;
+
+    // Clock seconds at a System.nanoTime() instant the ticks are scheduled against, null when ticks are played
+    // on request
+    private final LongToDoubleFunction clockSeconds;
+
+    private volatile boolean pending;
+    private volatile boolean running;
+    // Line stopped and the audio thread asleep until unparked
+    private volatile boolean parked;
+    // The clock jumped, audio queued against the old time is dropped
+    private volatile boolean resync;
+    private volatile long requestTime;
+
+    // Time between tick() and the sample being handed to the line. With scheduled ticks, how much later than its
+    // place in the stream the line will play the tick, from what is still queued ahead of it
+    private volatile long lastLatencyNanos;
+    private volatile long maxLatencyNanos;
+    private volatile long ticksPlayed;
+
+    public TickPlayer(String resource) {
+        this(resource, null);
+    }
+
+    // Streams continuously and mixes a tick in wherever the clock passes a half second, at whatever rate it runs
+    public TickPlayer(String resource, LongToDoubleFunction clockSeconds) {
+        this.clockSeconds = clockSeconds;
+        try (InputStream in = TickPlayer.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Missing sound resource " + resource);
+            }
+            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(new BufferedInputStream(in));
+            AudioFormat format = audioInputStream.getFormat();
+
+            DataLine.Info info = new DataLine.Info(SourceDataLine.class, format);
+            if (!AudioSystem.isLineSupported(info)) {
+                // Most lines take 16 bit PCM even when they reject the file's own format
+                format = new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false);
+                audioInputStream = AudioSystem.getAudioInputStream(format, audioInputStream);
+                info = new DataLine.Info(SourceDataLine.class, format);
+            }
+
+            pcm = audioInputStream.readAllBytes();
+            audioInputStream.close();
+
+            if (AudioSystem.isLineSupported(info)) {
+                line = (SourceDataLine) AudioSystem.getLine(info);
+                // Room for one tick keeps the queueing delay down to a single sample length
+                int frames = pcm.length / format.getFrameSize();
+                line.open(format, frames * format.getFrameSize());
+                line.start();
+            } else {
+                System.out.println("Audio format not supported, try converting the file.");
+            }
+        } catch (Exception e) {
+            System.out.println(e.getMessage());
+        }
+
+        running = line != null;
+        audioThread = new Thread(clockSeconds == null ? this::run : this::runScheduled, "tick-audio");
+        audioThread.setDaemon(true);
+        audioThread.setPriority(Thread.MAX_PRIORITY);
+        if (running) {
+            audioThread.start();
+        }
+    }
+
+    // Request one tick, returns immediately
+    public void tick() {
+        if (!running || clockSeconds != null) {
+            return;
+        }
+        requestTime = System.nanoTime();
+        pending = true;
+        LockSupport.unpark(audioThread);
+    }
+
+    public long getLastLatencyNanos() {
+        return lastLatencyNanos;
+    }
+
+    public long getMaxLatencyNanos() {
+        return maxLatencyNanos;
+    }
+
+    // Ticks handed to the line so far, to tell when the latency values are fresh
+    public long getTicksPlayed() {
+        return ticksPlayed;
+    }
+
+    // Stop the line and the audio thread while nobody can see the clock, resume lines up with the clock again
+    public void setParked(boolean parked) {
+        this.parked = parked;
+        LockSupport.unpark(audioThread);
+    }
+
+    // Call after the clock's time source was replaced, by a seek or a restored snapshot
+    public void resync() {
+        resync = true;
+    }
+
+    // On the audio thread: hold the line still for as long as the player is parked
+    private void waitWhileParked() {
+        line.stop();
+        line.flush();
+        while (parked && running) {
+            LockSupport.park(this);
+        }
+        line.start();
+    }
+
+    public void close() {
+        running = false;
+        LockSupport.unpark(audioThread);
+    }
+
+    private void run() {
+        while (running) {
+            if (parked) {
+                waitWhileParked();
+                // A tick asked for before parking is stale by now
+                pending = false;
+                continue;
+            }
+            if (!pending) {
+                LockSupport.park(this);
+                continue;
+            }
+            pending = false;
+
+            long latency = System.nanoTime() - requestTime;
+            lastLatencyNanos = latency;
+            if (latency > maxLatencyNanos) {
+                maxLatencyNanos = latency;
+            }
+
+            // Drop whatever is left of the previous tick so the new one starts right away
+            line.flush();
+            line.write(pcm, 0, pcm.length);
+            ticksPlayed++;
+        }
+        line.drain();
+        line.close();
+    }
+
+    private void runScheduled() {
+        AudioFormat format = line.getFormat();
+        int frameSize = format.getFrameSize();
+        double rate = format.getFrameRate();
+        long sampleFrames = pcm.length / frameSize;
+
+        // 10 ms per write, silence is all zeros for signed PCM
+        int chunkFrames = (int) (rate / 100);
+        byte[] chunk = new byte[chunkFrames * frameSize];
+
+        // The stream is the time base: frame f plays at System.nanoTime() streamStart + f / rate, and the clock
+        // is read at that instant, so a tick falls where the clock passes a half second whatever its rate
+        long streamStart = System.nanoTime();
+        long frame = 0;
+        // Start of the tick playing or about to, none yet
+        long tickFrame = Long.MIN_VALUE / 2;
+
+        while (running) {
+            if (parked) {
+                waitWhileParked();
+                // Start a fresh stream at the clock's time now, as if the line had run dry
+                streamStart = System.nanoTime();
+                frame = 0;
+                tickFrame = Long.MIN_VALUE / 2;
+                continue;
+            }
+            if (resync) {
+                resync = false;
+                // What is queued was scheduled against the old time, the new one starts playing now
+                line.flush();
+                streamStart = System.nanoTime();
+                frame = 0;
+                tickFrame = Long.MIN_VALUE / 2;
+            } else if (frame > 0 && line.available() >= line.getBufferSize()) {
+                // Ran dry, the next chunk plays now instead of when the stream said
+                streamStart = System.nanoTime() - (long) (frame * 1e9 / rate);
+            }
+
+            // Clock time at the start and end of this chunk, a half second passed in between starts a tick
+            double from = clockSeconds.applyAsDouble(streamStart + (long) (frame * 1e9 / rate));
+            double to = clockSeconds.applyAsDouble(streamStart + (long) ((frame + chunkFrames) * 1e9 / rate));
+            if (to > from) {
+                double halfSecond = Math.ceil(from - 0.5) + 0.5;
+                if (halfSecond < to) {
+                    tickFrame = frame + Math.round((halfSecond - from) / (to - from) * chunkFrames);
+                }
+            } else if (to < from) {
+                // Running backwards, ticks still come on the half seconds
+                double halfSecond = Math.floor(from - 0.5) + 0.5;
+                if (halfSecond > to) {
+                    tickFrame = frame + Math.round((from - halfSecond) / (from - to) * chunkFrames);
+                }
+            }
+
+            // Copy the part of the tick that falls inside this chunk
+            Arrays.fill(chunk, (byte) 0);
+            long first = Math.max(frame, tickFrame);
+            long last = Math.min(frame + chunkFrames, tickFrame + sampleFrames);
+            if (first < last) {
+                System.arraycopy(pcm, (int) (first - tickFrame) * frameSize,
+                        chunk, (int) (first - frame) * frameSize, (int) (last - first) * frameSize);
+            }
+            if (first == tickFrame && first < last) {
+                long queuedFrames = (line.getBufferSize() - line.available()) / frameSize;
+                long playsAt = System.nanoTime() + (long) ((queuedFrames + tickFrame - frame) * 1e9 / rate);
+                long latency = playsAt - (streamStart + (long) (tickFrame * 1e9 / rate));
+                lastLatencyNanos = latency;
+                if (latency > maxLatencyNanos) {
+                    maxLatencyNanos = latency;
+                }
+                ticksPlayed++;
+            }
+
+            line.write(chunk, 0, chunk.length);
+            frame += chunkFrames;
+        }
+        line.close();
+    }
+}
@@ -0,0 +1,126 @@
+package pendulumclock;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Draws the scene into one int raster cut into tiles, rasterized in parallel on a ForkJoin pool, for signage sizes
+// one thread cannot fill at frame rate. Every tile draws through its own Graphics2D on a getSubimage view of the
+// shared image, so the tiles write disjoint slices of the same int[] and each only paints the parts overlapping
+// it. The finished frame goes to the screen in one blit
+public class TiledRenderer {
+    public static final int TILE_SIZE = 256;
+
+    private final ForkJoinPool pool;
+    private final BufferedImage image;
+    private final Tile[] tiles;
+    private final AffineTransform transform;
+
+    // The frame being drawn, published to the tiles by the pool
+    private ClockScene scene;
+    private Color background;
+
+    // An image of width x height device pixels, transform takes the scene to them: a scale and a translation, such
+    // as SceneFit's with the screen's device scale applied
+    public TiledRenderer(int width, int height, AffineTransform transform, int tileSize, ForkJoinPool pool) {
+        this.pool = pool;
+        this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.transform = new AffineTransform(transform);
+
+        int columns = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        tiles = new Tile[columns * rows];
+        for (int row = 0; row < rows; ++row) {
+            for (int column = 0; column < columns; ++column) {
+                int x = column * tileSize;
+                int y = row * tileSize;
+                tiles[row * columns + column] = new Tile(x, y, Math.min(tileSize, width - x),
+                        Math.min(tileSize, height - y));
+            }
+        }
+    }
+
+    // Device pixels per scene unit, the sprite scale the parts should be rendered for
+    public double getScale() {
+        return transform.getScaleX();
+    }
+
+    // Whether this renderer draws width x height pixels with transform, otherwise a new one is needed
+    public boolean fits(int width, int height, AffineTransform transform) {
+        return image.getWidth() == width && image.getHeight() == height && this.transform.equals(transform);
+    }
+
+    public int getTileCount() {
+        return tiles.length;
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    // Draw the scene as it is now into the image, returning once every tile is done.
+    // The parts must not be updated meanwhile
+    public BufferedImage render(ClockScene scene, Color background) {
+        this.scene = scene;
+        this.background = background;
+        pool.invoke(new Tiles(0, tiles.length));
+        return image;
+    }
+
+    // Blit the last rendered frame, one image pixel to one unit of g
+    public void present(Graphics g, int x, int y) {
+        g.drawImage(image, x, y, null);
+    }
+
+    public void dispose() {
+        for (Tile tile : tiles) {
+            tile.g2d.dispose();
+        }
+    }
+
+    private final class Tile {
+        final Graphics2D g2d;
+        // The tile in scene coordinates, rounded outwards so its edge pixels are covered
+        final Rectangle clip;
+
+        Tile(int x, int y, int width, int height) {
+            g2d = image.getSubimage(x, y, width, height).createGraphics();
+            g2d.translate(-x, -y);
+            g2d.transform(transform);
+            double scale = transform.getScaleX();
+            double offsetX = transform.getTranslateX();
+            double offsetY = transform.getTranslateY();
+            int left = (int) Math.floor((x - offsetX) / scale);
+            int top = (int) Math.floor((y - offsetY) / scale);
+            int right = (int) Math.ceil((x + width - offsetX) / scale);
+            int bottom = (int) Math.ceil((y + height - offsetY) / scale);
+            clip = new Rectangle(left, top, right - left, bottom - top);
+        }
+
+        void paint() {
+            scene.paintTile(g2d, clip, background);
+        }
+    }
+
+    // Halves the tile range until single tiles are left, idle workers steal the other halves
+    private final class Tiles extends RecursiveAction {
+        private final int from, to;
+
+        Tiles(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                tiles[from].paint();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Tiles(from, middle), new Tiles(middle, to));
+        }
+    }
+}
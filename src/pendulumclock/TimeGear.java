@@ -0,0 +1,248 @@
+package pendulumclock;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+
+public class TimeGear implements ClockPart {
+    private final int centerX, centerY;
+    private final int outerTeeth, innerTeeth;
+    private final int outerRadius, innerRadius;
+    private final int arms, armsStroke;
+    private final int internalGearRadius;
+    private final Color primaryColor, secondaryColor;
+    private final boolean arrow;
+    // Geometry in gear coordinates, one fill per color
+    private final Path2D armsOutline, gearOutline, arrowOutline;
+
+    // Static geometry is rendered once and only rotated per frame
+    private final String spriteKey;
+    private final int spriteSize;
+    private BufferedImage sprite;
+    // Scale asked for by the scene, and the one the sprite was rendered at
+    private volatile double spriteScale = 1;
+    private double renderedScale;
+    private final Rectangle bounds;
+    // Pre-rotated frames for slow gears, null to rotate the sprite every paint
+    private GearAtlas atlas;
+    private int atlasFrames;
+    private long atlasBytes;
+    private double atlasScale;
+
+    private double angle;
+    private double angleStep;
+    private long angleIndex;
+    private boolean moved;
+
+    public TimeGear(int centerX, int centerY,
+                     int outerTeeth, int innerTeeth,
+                     int outerRadius, int innerRadius,
+                     int arms, int armsStroke, int internalGearRadius,
+                    Color primaryColor, Color secondaryColor, boolean arrow) {
+
+        this.centerX = centerX;
+        this.centerY = centerY;
+        this.outerTeeth = outerTeeth;
+        this.innerTeeth = innerTeeth;
+        this.outerRadius = outerRadius;
+        this.innerRadius = innerRadius;
+        this.arms = arms;
+        this.armsStroke = armsStroke;
+        this.internalGearRadius = internalGearRadius;
+        this.primaryColor = primaryColor;
+        this.secondaryColor = secondaryColor;
+        this.arrow = arrow;
+
+        this.spriteKey = "TimeGear:" + outerTeeth + ":" + innerTeeth + ":" + outerRadius + ":" + innerRadius
+                + ":" + arms + ":" + armsStroke + ":" + internalGearRadius
+                + ":" + primaryColor.getRGB() + ":" + secondaryColor.getRGB() + ":" + arrow;
+        this.spriteSize = 2 * ((int) Math.ceil(Math.hypot(4, outerRadius + 8)) + 2);
+        this.bounds = new Rectangle(centerX - spriteSize / 2, centerY - spriteSize / 2, spriteSize, spriteSize);
+        // A quarter of a pixel at the outermost tooth tip
+        this.angleStep = 0.25 / (spriteSize / 2.0);
+        this.moved = true;
+
+        this.angle = 0.0;
+
+        this.armsOutline = createArmsOutline();
+        this.gearOutline = createGearOutline();
+        this.arrowOutline = arrow ? createArrowOutline() : null;
+    }
+
+    public void setAngle(double angle) {
+        // Ignore changes too small to move the rim by a visible amount
+        long index = Math.round(angle / angleStep);
+        if (index != angleIndex) {
+            angleIndex = index;
+            this.angle = angle;
+            moved = true;
+        }
+    }
+
+    // Draw the nearest of frames pre-rotated images instead of rotating the sprite, keeping at most maxBytes of them.
+    // frames 0 picks one frame per device pixel along the rim, so no point is ever off by more than half a pixel
+    public void useAtlas(int frames, long maxBytes) {
+        atlasFrames = frames;
+        atlasBytes = maxBytes;
+        switchAtlas(spriteScale);
+    }
+
+    private void switchAtlas(double scale) {
+        int size = (int) Math.ceil(spriteSize * scale);
+        int frames = atlasFrames > 0 ? atlasFrames : (int) Math.ceil(Math.PI * size);
+        atlas = GearAtlas.get(spriteKey + "@" + scale, size, frames, atlasBytes, g -> {
+            g.scale(scale, scale);
+            paintGear(g);
+        });
+        atlasScale = scale;
+        // Only repaint when the nearest frame changes
+        angleStep = atlas.getStep();
+        angleIndex = Math.round(angle / angleStep);
+        moved = true;
+    }
+
+    public int getOuterTeeth() {
+        return outerTeeth;
+    }
+
+    @Override
+    public Rectangle getPartBounds() {
+        return bounds;
+    }
+
+    @Override
+    public boolean takeDirtyRegion(Rectangle dirty) {
+        if (!moved) {
+            return false;
+        }
+        // Any rotation changes the whole gear disc
+        moved = false;
+        dirty.setBounds(bounds);
+        return true;
+    }
+
+    @Override
+    public void paintPart(Graphics2D g2d) {
+        // The tiles of a TiledRenderer paint the part from several threads at once, one of them swaps the images
+        BufferedImage image;
+        double scale;
+        boolean rotate;
+        // The atlas frame drawn below, pinned in its atlas until released after the blit
+        GearAtlas pinned = null;
+        long pinnedIndex = 0;
+        synchronized (this) {
+            if (atlas != null) {
+                if (atlasScale != spriteScale) {
+                    switchAtlas(spriteScale);
+                }
+                pinned = atlas;
+                pinnedIndex = angleIndex;
+                image = atlas.acquire(pinnedIndex);
+                scale = atlasScale;
+                rotate = false;
+            } else {
+                if (sprite == null || renderedScale != spriteScale) {
+                    renderedScale = spriteScale;
+                    sprite = getSprite(renderedScale);
+                }
+                image = sprite;
+                scale = renderedScale;
+                rotate = true;
+            }
+        }
+
+        // Blit the cached gear around its center, rotated unless the atlas frame already is
+        try {
+            AffineTransform transform = AffineTransform.getTranslateInstance(centerX, centerY);
+            if (rotate) {
+                g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                transform.rotate(angle);
+            }
+            transform.scale(1 / scale, 1 / scale);
+            transform.translate(-image.getWidth() / 2, -image.getHeight() / 2);
+            g2d.drawImage(image, transform, null);
+        } finally {
+            if (pinned != null) {
+                pinned.release(pinnedIndex);
+            }
+        }
+    }
+
+    @Override
+    public void setSpriteScale(double scale) {
+        spriteScale = scale;
+    }
+
+    // Gear geometry rendered for scale device pixels per scene unit
+    private BufferedImage getSprite(double scale) {
+        return SpriteCache.get(spriteKey + "@" + scale, (int) Math.ceil(spriteSize * scale), g -> {
+            g.scale(scale, scale);
+            paintGear(g);
+        });
+    }
+
+    // Draw the static gear geometry around the origin, unrotated
+    void paintGear(Graphics2D g2d) {
+        g2d.setColor(secondaryColor);
+        g2d.fill(armsOutline);
+        g2d.setColor(primaryColor);
+        g2d.fill(gearOutline);
+        if (arrowOutline != null) {
+            g2d.setColor(Color.BLACK);
+            g2d.fill(arrowOutline);
+        }
+    }
+
+    private Path2D createArmsOutline() {
+        Path2D path = GearOutline.create();
+        int left = -armsStroke / 2;
+        GearOutline.addRing(path, new double[]{left, left + armsStroke, left + armsStroke, left},
+                new double[]{0, 0, outerRadius, outerRadius}, arms, Math.PI / arms);
+        return path;
+    }
+
+    // Outer teeth, ring, inner teeth and hub, all in the primary color
+    private Path2D createGearOutline() {
+        Path2D path = GearOutline.create();
+        GearOutline.addRing(path, new double[]{-4, 4, 4, -4},
+                new double[]{-outerRadius, -outerRadius, -outerRadius - 8, -outerRadius - 8}, outerTeeth, 0);
+        GearOutline.addCircle(path, outerRadius);
+        GearOutline.cutCircle(path, innerRadius);
+        GearOutline.addRing(path, new double[]{-4, 4, 4, -4},
+                new double[]{-internalGearRadius, -internalGearRadius, -internalGearRadius - 8,
+                        -internalGearRadius - 8}, innerTeeth, 0);
+        GearOutline.addCircle(path, internalGearRadius);
+        return path;
+    }
+
+    private Path2D createArrowOutline() {
+        Path2D path = GearOutline.create();
+        int half = outerRadius / 2;
+        GearOutline.addPolygon(path, new double[]{-4, 4, 4, -4}, new double[]{-half, -half, 0, 0}, 0);
+        GearOutline.addPolygon(path, new double[]{-10, 10, 0}, new double[]{-half, -half, -half - 15}, 0);
+        return path;
+    }
+
+    // For testing alone
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            JFrame frame = new JFrame("ScapeGear");
+            frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            frame.setSize(400, 400);
+
+            TimeGear gear = new TimeGear(
+                    200, 200, 30, 15,
+                    150, 140, 6, 6, 50,
+                    Color.decode("#8e582c"), Color.decode("#d0ab7a"), true);
+            ClockFace face = new ClockFace();
+            face.addPart(gear);
+            JPanel panel = new JPanel(new BorderLayout());
+            panel.add(face, BorderLayout.CENTER);
+
+            frame.add(panel);
+            frame.setVisible(true);
+        });
+    }
+}
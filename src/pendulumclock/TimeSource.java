@@ -0,0 +1,26 @@
+package pendulumclock;
+
+// Where a clock gets its time from: maps System.nanoTime() instants to clock seconds since midnight.
+// Starting at a fixed time with a fixed rate makes runs reproducible, rate 0 freezes the clock
+public interface TimeSource {
+    double clockSeconds(long nanoTime);
+
+    // The same source, jumped to the given clock time as of now
+    TimeSource seekTo(double seconds);
+
+    // Clock time starting at seconds now, advancing rate clock seconds per real second
+    static TimeSource startingAt(double seconds, double rate) {
+        long startTime = System.nanoTime();
+        return new TimeSource() {
+            @Override
+            public double clockSeconds(long nanoTime) {
+                return seconds + rate * (nanoTime - startTime) / 1_000_000_000.0;
+            }
+
+            @Override
+            public TimeSource seekTo(double target) {
+                return startingAt(target, rate);
+            }
+        };
+    }
+}
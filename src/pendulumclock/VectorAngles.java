@@ -0,0 +1,66 @@
+package pendulumclock;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// SIMD version of the ClockEngine batch calls, one time per lane. Uses the incubating Vector API, so it is only
+// touched when the JVM was started with --add-modules jdk.incubator.vector, see ClockEngine.
+final class VectorAngles {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorAngles() {
+    }
+
+    // Lanes of the preferred vector shape, the batch size below which the scalar loop is just as fast
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    // Times t0 + i * dt, i in [0, n)
+    static int compute(double t0, double dt, int n,
+                       double[] swing, double[] ratio, double[] phase, double maxAngle, int scapeTeeth,
+                       double[][] angles) {
+        DoubleVector iota = DoubleVector.zero(SPECIES).addIndex(1);
+        int upper = SPECIES.loopBound(n);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector t = iota.add(i).mul(dt).add(t0);
+            store(t, i, swing, ratio, phase, maxAngle, scapeTeeth, angles);
+        }
+        return upper;
+    }
+
+    // Times from times[0 .. n)
+    static int compute(double[] times, int n,
+                       double[] swing, double[] ratio, double[] phase, double maxAngle, int scapeTeeth,
+                       double[][] angles) {
+        int upper = SPECIES.loopBound(n);
+        for (int i = 0; i < upper; i += SPECIES.length()) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, times, i);
+            store(t, i, swing, ratio, phase, maxAngle, scapeTeeth, angles);
+        }
+        return upper;
+    }
+
+    // Same math as ClockEngine.pendulumAngle and scapeAngle, lane by lane
+    private static void store(DoubleVector t, int i,
+                              double[] swing, double[] ratio, double[] phase, double maxAngle, int scapeTeeth,
+                              double[][] angles) {
+        DoubleVector pendulum = t.mul(2 * Math.PI).lanewise(VectorOperators.SIN).mul(maxAngle);
+
+        // No floor in this API version: truncate, then step down where that rounded a negative time up
+        LongVector truncated = (LongVector) t.convert(VectorOperators.D2L, 0);
+        DoubleVector whole = (DoubleVector) truncated.convert(VectorOperators.L2D, 0);
+        whole = whole.sub(1, whole.compare(VectorOperators.GT, t));
+        DoubleVector fraction = t.sub(whole);
+        VectorMask<Double> resting = fraction.compare(VectorOperators.GE, 0.5);
+        DoubleVector escapement = whole.add(fraction.mul(2)).blend(whole.add(1), resting);
+        DoubleVector scape = escapement.mul(-2 * Math.PI).div(scapeTeeth);
+
+        for (int p = 0; p < swing.length; ++p) {
+            pendulum.mul(swing[p]).add(scape.mul(ratio[p])).add(phase[p]).intoArray(angles[p], i);
+        }
+    }
+}